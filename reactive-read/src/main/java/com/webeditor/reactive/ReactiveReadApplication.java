@@ -0,0 +1,18 @@
+package com.webeditor.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Read-only, non-blocking companion to the web editor API.
+ *
+ * <p>Serves the content GET routes with WebFlux over R2DBC, so a few event-loop threads can hold
+ * many thousands of concurrent slow connections. All writes stay on the MVC application.
+ */
+@SpringBootApplication
+public class ReactiveReadApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveReadApplication.class, args);
+    }
+}
@@ -0,0 +1,173 @@
+package com.webeditor.reactive.controller;
+
+import com.webeditor.reactive.dto.ContentBatchResponse;
+import com.webeditor.reactive.dto.ContentView;
+import com.webeditor.reactive.dto.MessageResponse;
+import com.webeditor.reactive.repository.ContentReadRepository;
+import com.webeditor.reactive.security.JwtWebFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking mirror of the GET routes of the MVC ContentController.
+ *
+ * <p>Serves reads by id, by ids, and the paged lists with their {@code since} bound. Left to the
+ * MVC application: {@code POST /batch}, which is a POST; {@code /filter}, answered from the MVC
+ * node's in-memory filter index; and {@code /stats}, served by the MVC ContentCounterService.
+ *
+ * <p>Reads served here are not counted as views: view counts and the trending list are kept by
+ * the MVC ContentViewService, in the memory of the node that served the read.
+ */
+@RestController
+@RequestMapping("/api/contents")
+public class ContentReadController {
+
+    @Autowired
+    private ContentReadRepository contentReadRepository;
+
+    @Value("${app.contents.batch.max-ids:200}")
+    private int batchMaxIds;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getContentById(@PathVariable Long id) {
+        return contentReadRepository.findById(id)
+                .<ResponseEntity<?>>map(content -> ResponseEntity.ok()
+                        .eTag("\"" + content.getVersion() + "\"")
+                        .body(content))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new MessageResponse("Content not found with id: " + id)));
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<?>> getContentsByIds(@RequestParam List<Long> ids) {
+        if (ids.size() > batchMaxIds) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: At most " + batchMaxIds + " ids can be requested at once")));
+        }
+        return contentReadRepository.findAllByIdIn(ids)
+                .collectMap(ContentView::getId)
+                .<ResponseEntity<?>>map(found -> ResponseEntity.ok(batch(ids, found)));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllContents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        Pageable pageable = pageable(page, size, sortBy, sortDirection);
+        if (pageable == null) {
+            return badSort(sortBy);
+        }
+        Mono<Long> total = since == null
+                ? contentReadRepository.counter("total")
+                : contentReadRepository.countCreatedSince(since);
+        return toPage(contentReadRepository.findAll(since, pageable), total, pageable);
+    }
+
+    @GetMapping("/my")
+    public Mono<ResponseEntity<?>> getMyContents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestAttribute(JwtWebFilter.USERNAME_ATTRIBUTE) String username) {
+        Pageable pageable = pageable(page, size, sortBy, sortDirection);
+        if (pageable == null) {
+            return badSort(sortBy);
+        }
+        Mono<Long> total = since == null
+                ? contentReadRepository.countByAuthorUsername(username)
+                : contentReadRepository.countByAuthorUsernameCreatedSince(username, since);
+        return toPage(contentReadRepository.findByAuthorUsername(username, since, pageable), total, pageable);
+    }
+
+    @GetMapping("/status/{status}")
+    public Mono<ResponseEntity<?>> getContentsByStatus(
+            @PathVariable String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        Pageable pageable = pageable(page, size, sortBy, sortDirection);
+        if (pageable == null) {
+            return badSort(sortBy);
+        }
+        Mono<Long> total = since == null
+                ? contentReadRepository.counter("status:" + status)
+                : contentReadRepository.countByStatusCreatedSince(status, since);
+        return toPage(contentReadRepository.findByStatus(status, since, pageable), total, pageable);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<?>> searchContents(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        Pageable pageable = pageable(page, size, sortBy, sortDirection);
+        if (pageable == null) {
+            return badSort(sortBy);
+        }
+        return toPage(contentReadRepository.findByTitleContaining(keyword, since, pageable),
+                contentReadRepository.countByTitleContaining(keyword, since), pageable);
+    }
+
+    private static Pageable pageable(int page, int size, String sortBy, String sortDirection) {
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+        return ContentReadRepository.isSortable(sort) ? PageRequest.of(page, size, sort) : null;
+    }
+
+    private static ContentBatchResponse batch(List<Long> ids, Map<Long, ContentView> found) {
+        List<ContentView> contents = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            ContentView content = found.get(id);
+            contents.add(content);
+            if (content == null) {
+                missingIds.add(id);
+            }
+        }
+        return new ContentBatchResponse(contents, missingIds);
+    }
+
+    private static Mono<ResponseEntity<?>> toPage(Flux<ContentView> contents, Mono<Long> total, Pageable pageable) {
+        // Page rows and total are fetched concurrently on separate connections
+        return Mono.zip(contents.collectList(), total)
+                .<ResponseEntity<?>>map(result -> {
+                    Page<ContentView> page = new PageImpl<>(result.getT1(), pageable, result.getT2());
+                    return ResponseEntity.ok(page);
+                });
+    }
+
+    private static Mono<ResponseEntity<?>> badSort(String sortBy) {
+        return Mono.just(ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: Unsupported sort property: " + sortBy)));
+    }
+}
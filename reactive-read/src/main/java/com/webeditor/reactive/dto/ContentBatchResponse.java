@@ -0,0 +1,23 @@
+package com.webeditor.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for batch content reads, serialized exactly like the MVC API's ContentBatchResponse.
+ *
+ * <p>{@code contents} is aligned with the requested ids: entry {@code i} is the content for
+ * the {@code i}-th requested id, or null if it does not exist. Missing ids are also listed
+ * in {@code missingIds}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentBatchResponse {
+
+    private List<ContentView> contents;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,28 @@
+package com.webeditor.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for content reads, serialized exactly like the MVC API's ContentResponse.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentView {
+
+    private Long id;
+    private String title;
+    private String body;
+    private String status;
+    private String authorUsername;
+    private String tags;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
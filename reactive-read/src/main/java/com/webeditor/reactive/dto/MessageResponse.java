@@ -0,0 +1,16 @@
+package com.webeditor.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for generic message response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageResponse {
+
+    private String message;
+}
@@ -0,0 +1,276 @@
+package com.webeditor.reactive.repository;
+
+import com.webeditor.reactive.dto.ContentView;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Non-blocking reads of contents with their author's username.
+ *
+ * <p>Mirrors the queries of the MVC ContentRepository. Totals come from the materialized
+ * {@code content_counters} rows where the MVC API uses them, so paging never counts the table;
+ * a page bounded by {@code since} is counted, within that bound only.
+ */
+@Repository
+public class ContentReadRepository {
+
+    private static final String SELECT = "SELECT c.id, c.title, c.body, c.status, c.tags, c.created_at,"
+            + " c.updated_at, c.version, u.username AS author_username"
+            + " FROM contents c JOIN users u ON u.id = c.author_id";
+
+    private static final String COUNT = "SELECT count(*) FROM contents c";
+
+    // API sort properties to columns; anything else is rejected rather than interpolated
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "c.id",
+            "title", "c.title",
+            "status", "c.status",
+            "createdAt", "c.created_at",
+            "updatedAt", "c.updated_at");
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Find content by id.
+     *
+     * @param id the content id
+     * @return the content, or empty if not found
+     */
+    public Mono<ContentView> findById(Long id) {
+        return databaseClient.sql(SELECT + " WHERE c.id = :id")
+                .bind("id", id)
+                .map(ContentReadRepository::toView)
+                .one();
+    }
+
+    /**
+     * Find contents by ids, in no particular order.
+     *
+     * @param ids the content ids
+     * @return the contents that exist
+     */
+    public Flux<ContentView> findAllByIdIn(Collection<Long> ids) {
+        return databaseClient.sql(SELECT + " WHERE c.id = ANY(:ids)")
+                .bind("ids", ids.toArray(new Long[0]))
+                .map(ContentReadRepository::toView)
+                .all();
+    }
+
+    /**
+     * Find one page of all contents.
+     *
+     * @param since    only contents created at or after this time, or null for all
+     * @param pageable pagination information
+     * @return contents of the page
+     */
+    public Flux<ContentView> findAll(LocalDateTime since, Pageable pageable) {
+        return page(null, Map.of(), since, pageable);
+    }
+
+    /**
+     * Find one page of contents by author username.
+     *
+     * @param username the author username
+     * @param since    only contents created at or after this time, or null for all
+     * @param pageable pagination information
+     * @return contents of the page
+     */
+    public Flux<ContentView> findByAuthorUsername(String username, LocalDateTime since, Pageable pageable) {
+        return page("u.username = :username", Map.of("username", username), since, pageable);
+    }
+
+    /**
+     * Find one page of contents by status.
+     *
+     * @param status   the status
+     * @param since    only contents created at or after this time, or null for all
+     * @param pageable pagination information
+     * @return contents of the page
+     */
+    public Flux<ContentView> findByStatus(String status, LocalDateTime since, Pageable pageable) {
+        return page("c.status = :status", Map.of("status", status), since, pageable);
+    }
+
+    /**
+     * Find one page of contents whose title contains a keyword.
+     *
+     * @param keyword  the keyword to search
+     * @param since    only contents created at or after this time, or null for all
+     * @param pageable pagination information
+     * @return contents of the page
+     */
+    public Flux<ContentView> findByTitleContaining(String keyword, LocalDateTime since, Pageable pageable) {
+        return page("c.title LIKE :pattern", Map.of("pattern", likePattern(keyword)), since, pageable);
+    }
+
+    /**
+     * Count contents created at or after a time.
+     *
+     * @param since the lower bound of the creation time
+     * @return number of contents
+     */
+    public Mono<Long> countCreatedSince(LocalDateTime since) {
+        return count(null, Map.of(), since);
+    }
+
+    /**
+     * Count contents of an author created at or after a time.
+     *
+     * @param username the author username
+     * @param since    the lower bound of the creation time
+     * @return number of contents
+     */
+    public Mono<Long> countByAuthorUsernameCreatedSince(String username, LocalDateTime since) {
+        return count("c.author_id = (SELECT id FROM users WHERE username = :username)",
+                Map.of("username", username), since);
+    }
+
+    /**
+     * Count contents of a status created at or after a time.
+     *
+     * @param status the status
+     * @param since  the lower bound of the creation time
+     * @return number of contents
+     */
+    public Mono<Long> countByStatusCreatedSince(String status, LocalDateTime since) {
+        return count("c.status = :status", Map.of("status", status), since);
+    }
+
+    /**
+     * Count contents whose title contains a keyword.
+     *
+     * @param keyword the keyword to search
+     * @param since   only contents created at or after this time, or null for all
+     * @return number of matches
+     */
+    public Mono<Long> countByTitleContaining(String keyword, LocalDateTime since) {
+        return count("c.title LIKE :pattern", Map.of("pattern", likePattern(keyword)), since);
+    }
+
+    /**
+     * Read a materialized content counter, summed over its stripes.
+     *
+     * @param name the counter name, e.g. {@code total} or {@code status:PUBLISHED}
+     * @return the counter value, 0 if it does not exist
+     */
+    public Mono<Long> counter(String name) {
+        return databaseClient.sql("SELECT COALESCE(SUM(total), 0) FROM content_counters WHERE name = :name")
+                .bind("name", name)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * Read the materialized content counter of an author.
+     *
+     * @param username the author username
+     * @return number of contents written by the author
+     */
+    public Mono<Long> countByAuthorUsername(String username) {
+        return databaseClient.sql("SELECT COALESCE(SUM(cc.total), 0) FROM content_counters cc JOIN users u"
+                        + " ON cc.name = 'author:' || u.id WHERE u.username = :username")
+                .bind("username", username)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * Whether every sort property can be mapped to a column.
+     *
+     * @param sort the requested sort
+     * @return true if the sort is supported
+     */
+    public static boolean isSortable(Sort sort) {
+        return sort.stream().allMatch(order -> SORT_COLUMNS.containsKey(order.getProperty()));
+    }
+
+    static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " ORDER BY c.created_at DESC";
+        }
+        StringJoiner clause = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            clause.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return clause.toString();
+    }
+
+    static String where(String condition, LocalDateTime since) {
+        if (since == null) {
+            return condition == null ? "" : " WHERE " + condition;
+        }
+        // Bounded on creation time so partitions before it can be pruned
+        return " WHERE " + (condition == null ? "" : condition + " AND ") + "c.created_at >= :since";
+    }
+
+    private Flux<ContentView> page(String condition, Map<String, Object> parameters, LocalDateTime since,
+                                   Pageable pageable) {
+        Map<String, Object> bindings = bindings(parameters, since);
+        bindings.put("limit", pageable.getPageSize());
+        bindings.put("offset", pageable.getOffset());
+        return bind(databaseClient.sql(SELECT + where(condition, since) + orderBy(pageable.getSort())
+                + " LIMIT :limit OFFSET :offset"), bindings)
+                .map(ContentReadRepository::toView)
+                .all();
+    }
+
+    private Mono<Long> count(String condition, Map<String, Object> parameters, LocalDateTime since) {
+        return bind(databaseClient.sql(COUNT + where(condition, since)), bindings(parameters, since))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static Map<String, Object> bindings(Map<String, Object> parameters, LocalDateTime since) {
+        Map<String, Object> bindings = new LinkedHashMap<>(parameters);
+        if (since != null) {
+            bindings.put("since", since);
+        }
+        return bindings;
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                          Map<String, Object> bindings) {
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private static String likePattern(String keyword) {
+        String escaped = keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static ContentView toView(Readable row) {
+        return ContentView.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .body(row.get("body", String.class))
+                .status(row.get("status", String.class))
+                .authorUsername(row.get("author_username", String.class))
+                .tags(row.get("tags", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.webeditor.reactive.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Requires a valid JWT, issued by the MVC application, on every API request.
+ *
+ * <p>The token is verified in memory only; unlike the MVC filter no user is loaded, since the
+ * username in the token is all the read routes need.
+ */
+@Component
+public class JwtWebFilter implements WebFilter {
+
+    /**
+     * Exchange attribute holding the authenticated username.
+     */
+    public static final String USERNAME_ATTRIBUTE = JwtWebFilter.class.getName() + ".username";
+
+    // Immutable and thread-safe, so built once rather than per request
+    private final JwtParser jwtParser;
+
+    public JwtWebFilter(@Value("${jwt.secret}") String jwtSecret) {
+        this.jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return unauthorized(exchange);
+        }
+        try {
+            String username = jwtParser.parseSignedClaims(header.substring(7))
+                    .getPayload()
+                    .getSubject();
+            exchange.getAttributes().put(USERNAME_ATTRIBUTE, username);
+        } catch (JwtException | IllegalArgumentException e) {
+            return unauthorized(exchange);
+        }
+        return chain.filter(exchange);
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,180 @@
+package com.webeditor.reactive.controller;
+
+import com.webeditor.reactive.dto.ContentView;
+import com.webeditor.reactive.repository.ContentReadRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for ContentReadController, behind JwtWebFilter.
+ */
+@WebFluxTest(controllers = ContentReadController.class, properties = {
+        "jwt.secret=" + ContentReadControllerTest.SECRET,
+        "app.contents.batch.max-ids=3"
+})
+class ContentReadControllerTest {
+
+    static final String SECRET = "test-secret-key-for-the-reactive-read-api-at-least-32-bytes";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ContentReadRepository contentReadRepository;
+
+    @Test
+    void whenNoToken_thenUnauthorized() {
+        webTestClient.get().uri("/api/contents/1")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void whenTokenSignedWithOtherKey_thenUnauthorized() {
+        String forged = Jwts.builder()
+                .subject("alice")
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-that-is-at-least-32-bytes".getBytes(
+                        StandardCharsets.UTF_8)))
+                .compact();
+
+        webTestClient.get().uri("/api/contents/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + forged)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void whenGetContentById_thenOkWithETag() {
+        when(contentReadRepository.findById(1L)).thenReturn(Mono.just(view(1L)));
+
+        authorized("/api/contents/1")
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Content 1")
+                .jsonPath("$.authorUsername").isEqualTo("alice");
+    }
+
+    @Test
+    void whenContentMissing_thenNotFound() {
+        when(contentReadRepository.findById(9L)).thenReturn(Mono.empty());
+
+        authorized("/api/contents/9")
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Content not found with id: 9");
+    }
+
+    @Test
+    void whenGetContentsByIds_thenAlignedWithRequestAndMissingListed() {
+        when(contentReadRepository.findAllByIdIn(List.of(3L, 1L, 2L))).thenReturn(Flux.just(view(1L), view(3L)));
+
+        authorized("/api/contents?ids=3,1,2")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.contents.length()").isEqualTo(3)
+                .jsonPath("$.contents[0].id").isEqualTo(3)
+                .jsonPath("$.contents[1].id").isEqualTo(1)
+                .jsonPath("$.contents[2]").isEmpty()
+                .jsonPath("$.missingIds").isEqualTo(List.of(2));
+    }
+
+    @Test
+    void whenTooManyIds_thenBadRequest() {
+        authorized("/api/contents?ids=1,2,3,4")
+                .expectStatus().isBadRequest();
+
+        verify(contentReadRepository, never()).findAllByIdIn(any());
+    }
+
+    @Test
+    void whenListWithoutSince_thenTotalFromCounter() {
+        when(contentReadRepository.findAll(isNull(), any())).thenReturn(Flux.just(view(1L)));
+        when(contentReadRepository.counter("total")).thenReturn(Mono.just(42L));
+
+        authorized("/api/contents?size=1")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(42);
+
+        verify(contentReadRepository, never()).countCreatedSince(any());
+    }
+
+    @Test
+    void whenListSince_thenCountedWithinBound() {
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(contentReadRepository.findByStatus(eq("PUBLISHED"), eq(since), any())).thenReturn(Flux.just(view(1L)));
+        when(contentReadRepository.countByStatusCreatedSince("PUBLISHED", since)).thenReturn(Mono.just(1L));
+
+        authorized("/api/contents/status/PUBLISHED?since=2024-01-01T00:00:00")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(1);
+
+        verify(contentReadRepository, never()).counter(anyString());
+    }
+
+    @Test
+    void whenGetMyContents_thenReadByTokenSubject() {
+        when(contentReadRepository.findByAuthorUsername(eq("alice"), isNull(), any()))
+                .thenReturn(Flux.just(view(1L)));
+        when(contentReadRepository.countByAuthorUsername("alice")).thenReturn(Mono.just(1L));
+
+        authorized("/api/contents/my")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].authorUsername").isEqualTo("alice");
+    }
+
+    @Test
+    void whenSortByUnknownProperty_thenBadRequest() {
+        authorized("/api/contents?sortBy=password")
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Error: Unsupported sort property: password");
+    }
+
+    private WebTestClient.ResponseSpec authorized(String uri) {
+        String token = Jwts.builder()
+                .subject("alice")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        return webTestClient.get().uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange();
+    }
+
+    private static ContentView view(Long id) {
+        return ContentView.builder()
+                .id(id)
+                .title("Content " + id)
+                .body("Body " + id)
+                .status("PUBLISHED")
+                .authorUsername("alice")
+                .createdAt(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .updatedAt(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .version(3L)
+                .build();
+    }
+}
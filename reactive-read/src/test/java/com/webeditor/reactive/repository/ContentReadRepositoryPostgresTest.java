@@ -0,0 +1,146 @@
+package com.webeditor.reactive.repository;
+
+import com.webeditor.reactive.dto.ContentView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the SQL of ContentReadRepository on PostgreSQL.
+ *
+ * <p>The schema is created by the MVC application's Flyway migrations, run by the container's
+ * init scripts in version order.
+ */
+@DataR2dbcTest
+@Import(ContentReadRepository.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ContentReadRepositoryPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withCopyFileToContainer(MountableFile.forHostPath("../src/main/resources/db/migration"),
+                    "/docker-entrypoint-initdb.d/");
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private ContentReadRepository contentReadRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Long aliceId;
+
+    @BeforeEach
+    void setUp() {
+        execute("TRUNCATE contents, users, content_counters RESTART IDENTITY");
+        execute("INSERT INTO users (username, password, email, role) VALUES"
+                + " ('alice', 'password', 'alice@example.com', 'ROLE_USER'),"
+                + " ('bob', 'password', 'bob@example.com', 'ROLE_USER')");
+        aliceId = databaseClient.sql("SELECT id FROM users WHERE username = 'alice'")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+        // Alice wrote contents 1 to 3, one day apart, the newest last; Bob wrote content 4
+        execute("INSERT INTO contents (title, body, status, author_id, created_at, updated_at) VALUES"
+                + " ('Old draft', 'Body', 'DRAFT', " + aliceId + ", '2024-05-29 12:00', '2024-05-29 12:00'),"
+                + " ('Recent post', 'Body', 'PUBLISHED', " + aliceId + ", '2024-05-30 12:00', '2024-05-30 12:00'),"
+                + " ('New post', 'Body', 'PUBLISHED', " + aliceId + ", '2024-05-31 12:00', '2024-05-31 12:00'),"
+                + " ('Bob 100% post', 'Body', 'PUBLISHED', (SELECT id FROM users WHERE username = 'bob'),"
+                + " '2024-05-31 13:00', '2024-05-31 13:00')");
+    }
+
+    @Test
+    void whenFindByIds_thenOnlyExistingReturned() {
+        StepVerifier.create(contentReadRepository.findAllByIdIn(List.of(3L, 1L, 99L))
+                        .map(ContentView::getId)
+                        .collectList())
+                .assertNext(ids -> assertThat(ids).containsExactlyInAnyOrder(1L, 3L))
+                .verifyComplete();
+    }
+
+    @Test
+    void whenSinceGiven_thenPageAndCountBoundedOnCreation() {
+        LocalDateTime since = NOW.minusDays(2);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "createdAt"));
+
+        StepVerifier.create(contentReadRepository.findAll(since, pageable).map(ContentView::getTitle))
+                .expectNext("Recent post", "New post", "Bob 100% post")
+                .verifyComplete();
+        StepVerifier.create(contentReadRepository.countCreatedSince(since))
+                .expectNext(3L)
+                .verifyComplete();
+        StepVerifier.create(contentReadRepository.countByAuthorUsernameCreatedSince("alice", since))
+                .expectNext(2L)
+                .verifyComplete();
+        StepVerifier.create(contentReadRepository.countByStatusCreatedSince("PUBLISHED", NOW.minusDays(1)))
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void whenFilteredByAuthorAndSince_thenBothApply() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        StepVerifier.create(contentReadRepository.findByAuthorUsername("alice", NOW.minusDays(2), pageable)
+                        .map(ContentView::getTitle))
+                .expectNext("New post", "Recent post")
+                .verifyComplete();
+    }
+
+    @Test
+    void whenSearchKeywordHasWildcard_thenMatchedLiterally() {
+        StepVerifier.create(contentReadRepository.findByTitleContaining("100%", null, PageRequest.of(0, 10))
+                        .map(ContentView::getTitle))
+                .expectNext("Bob 100% post")
+                .verifyComplete();
+        StepVerifier.create(contentReadRepository.countByTitleContaining("post", NOW.minusDays(1)))
+                .expectNext(2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void whenCounterIsStriped_thenStripesSummed() {
+        execute("INSERT INTO content_counters (name, stripe, total) VALUES ('total', 0, 1), ('total', 1, 2),"
+                + " ('total', 7, 1), ('status:PUBLISHED', 3, 3), ('status:v#2', 0, 5),"
+                + " ('author:" + aliceId + "', 0, 3)");
+
+        StepVerifier.create(contentReadRepository.counter("total"))
+                .expectNext(4L)
+                .verifyComplete();
+        StepVerifier.create(contentReadRepository.counter("status:PUBLISHED"))
+                .expectNext(3L)
+                .verifyComplete();
+        StepVerifier.create(contentReadRepository.counter("status:v#2"))
+                .expectNext(5L)
+                .verifyComplete();
+        StepVerifier.create(contentReadRepository.counter("status:ARCHIVED"))
+                .expectNext(0L)
+                .verifyComplete();
+        StepVerifier.create(contentReadRepository.countByAuthorUsername("alice"))
+                .expectNext(3L)
+                .verifyComplete();
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
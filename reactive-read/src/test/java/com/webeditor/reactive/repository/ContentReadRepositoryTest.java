@@ -0,0 +1,48 @@
+package com.webeditor.reactive.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for ContentReadRepository.
+ */
+class ContentReadRepositoryTest {
+
+    @Test
+    void whenSortByApiProperties_thenMapToColumns() {
+        Sort sort = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("title"));
+
+        assertThat(ContentReadRepository.isSortable(sort)).isTrue();
+        assertThat(ContentReadRepository.orderBy(sort)).isEqualTo(" ORDER BY c.created_at DESC, c.title ASC");
+    }
+
+    @Test
+    void whenUnsorted_thenNewestFirst() {
+        assertThat(ContentReadRepository.orderBy(Sort.unsorted())).isEqualTo(" ORDER BY c.created_at DESC");
+    }
+
+    @Test
+    void whenSortByUnknownProperty_thenReject() {
+        Sort sort = Sort.by("title; DROP TABLE contents");
+
+        assertThat(ContentReadRepository.isSortable(sort)).isFalse();
+        assertThatThrownBy(() -> ContentReadRepository.orderBy(sort))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenSinceGiven_thenBoundAddedToCondition() {
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        assertThat(ContentReadRepository.where(null, null)).isEmpty();
+        assertThat(ContentReadRepository.where("c.status = :status", null)).isEqualTo(" WHERE c.status = :status");
+        assertThat(ContentReadRepository.where(null, since)).isEqualTo(" WHERE c.created_at >= :since");
+        assertThat(ContentReadRepository.where("c.status = :status", since))
+                .isEqualTo(" WHERE c.status = :status AND c.created_at >= :since");
+    }
+}
@@ -0,0 +1,25 @@
+-- Build the indexes of V2__add_query_indexes.sql without blocking writes (PostgreSQL 12+).
+--
+-- V2 runs inside Flyway's migration transaction, where CREATE INDEX CONCURRENTLY is not
+-- allowed, so it uses plain CREATE INDEX. That holds a SHARE lock on contents, blocking every
+-- insert, update and delete until each index is built. On an empty or small table this is
+-- instant; on a large existing table run this script first, outside a transaction:
+--   docker-compose exec -T postgres psql -U webeditor -d webeditor \
+--       < scripts/db/indexes/01-create-query-indexes-concurrently.sql
+--
+-- The index names match V2, whose CREATE INDEX IF NOT EXISTS statements then find them and
+-- do nothing. A concurrent build that fails leaves an INVALID index behind: drop it with
+-- DROP INDEX CONCURRENTLY and run the script again. The unique indexes on users already
+-- exist as constraints of V1 and are not repeated here.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contents_created_at ON contents (created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contents_author_created_at ON contents (author_id, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contents_status_created_at ON contents (status, created_at DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contents_author_status_created_at
+    ON contents (author_id, status, created_at DESC);
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_contents_title_trgm ON contents USING gin (title gin_trgm_ops);
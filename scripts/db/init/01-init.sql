@@ -10,12 +10,5 @@ CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 -- Grant privileges
 GRANT ALL PRIVILEGES ON DATABASE webeditor TO webeditor;
 
--- Tables will be created automatically by JPA (ddl-auto: update)
--- This is just for additional initialization if needed
-
--- Example: Create indexes for better performance
--- CREATE INDEX IF NOT EXISTS idx_users_username ON users(username);
--- CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
--- CREATE INDEX IF NOT EXISTS idx_contents_author_id ON contents(author_id);
--- CREATE INDEX IF NOT EXISTS idx_contents_status ON contents(status);
--- CREATE INDEX IF NOT EXISTS idx_contents_created_at ON contents(created_at);
+-- Tables and indexes are created by the application's Flyway migrations
+-- (src/main/resources/db/migration). This is just for additional initialization if needed
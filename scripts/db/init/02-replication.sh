@@ -0,0 +1,6 @@
+#!/bin/sh
+# Allow streaming replication connections so the optional read replica
+# (docker-compose --profile replica) can clone this instance.
+set -e
+
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,83 @@
+-- Convert "contents" into a table partitioned by created_at month (PostgreSQL 14+).
+--
+-- Run once, after the Flyway migrations in src/main/resources/db/migration have
+-- been applied, in a maintenance window; the copy holds an exclusive lock on contents:
+--   docker-compose exec -T postgres psql -U webeditor -d webeditor \
+--       < scripts/db/partitioning/01-partition-contents.sql
+--
+-- Afterwards start the application with APP_PARTITIONING_ENABLED=true so that
+-- partitions are created ahead of time and expired ones are detached.
+--
+-- Notes:
+--   * The primary key becomes (id, created_at): a partitioned table can only
+--     enforce uniqueness on keys containing the partition column. ids still come
+--     from a single sequence, so they remain unique in practice.
+--   * There is deliberately no DEFAULT partition. It would block
+--     DETACH PARTITION ... CONCURRENTLY, so rows must always fall into a monthly
+--     partition created in advance by create_contents_partition().
+
+BEGIN;
+
+CREATE OR REPLACE FUNCTION create_contents_partition(partition_month DATE)
+RETURNS TEXT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    range_start TIMESTAMP := date_trunc('month', partition_month);
+    partition_name TEXT := 'contents_p' || to_char(range_start, 'YYYYMM');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS %I PARTITION OF contents FOR VALUES FROM (%L) TO (%L)',
+        partition_name, range_start, range_start + INTERVAL '1 month');
+    RETURN partition_name;
+END;
+$$;
+
+LOCK TABLE contents IN ACCESS EXCLUSIVE MODE;
+ALTER TABLE contents RENAME TO contents_unpartitioned;
+
+-- Identity columns are not supported on partitioned tables before PostgreSQL 17
+CREATE SEQUENCE contents_partitioned_id_seq;
+SELECT setval('contents_partitioned_id_seq',
+              COALESCE((SELECT MAX(id) FROM contents_unpartitioned), 0) + 1, false);
+
+CREATE TABLE contents (
+    LIKE contents_unpartitioned INCLUDING DEFAULTS INCLUDING STORAGE INCLUDING COMMENTS
+) PARTITION BY RANGE (created_at);
+
+ALTER TABLE contents ALTER COLUMN id SET DEFAULT nextval('contents_partitioned_id_seq');
+ALTER SEQUENCE contents_partitioned_id_seq OWNED BY contents.id;
+
+DO $$
+DECLARE
+    partition_month DATE := date_trunc('month',
+            COALESCE((SELECT MIN(created_at) FROM contents_unpartitioned), now()));
+BEGIN
+    WHILE partition_month <= date_trunc('month', now()) + INTERVAL '3 months' LOOP
+        PERFORM create_contents_partition(partition_month);
+        partition_month := partition_month + INTERVAL '1 month';
+    END LOOP;
+END;
+$$;
+
+INSERT INTO contents SELECT * FROM contents_unpartitioned;
+
+-- Dropping the old table frees its constraint and index names for the new one
+DROP TABLE contents_unpartitioned;
+
+ALTER TABLE contents ADD CONSTRAINT contents_pkey PRIMARY KEY (id, created_at);
+ALTER TABLE contents ADD CONSTRAINT fk_contents_author FOREIGN KEY (author_id) REFERENCES users (id);
+
+-- Indexes on the parent are created on every existing and future partition.
+-- Keep in sync with src/main/resources/db/migration/V2__add_query_indexes.sql.
+CREATE INDEX idx_contents_id ON contents (id);
+CREATE INDEX idx_contents_created_at ON contents (created_at DESC);
+CREATE INDEX idx_contents_author_created_at ON contents (author_id, created_at DESC);
+CREATE INDEX idx_contents_status_created_at ON contents (status, created_at DESC);
+CREATE INDEX idx_contents_author_status_created_at ON contents (author_id, status, created_at DESC);
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_contents_title_trgm ON contents USING gin (title gin_trgm_ops);
+
+COMMIT;
+
+ANALYZE contents;
@@ -0,0 +1,17 @@
+#!/bin/sh
+# Start a hot-standby replica of the "postgres" service.
+# On first start the data directory is cloned with pg_basebackup; -R writes
+# standby.signal and primary_conninfo so the server follows the primary.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until pg_isready -h postgres -U "$POSTGRES_USER" -d "$POSTGRES_DB"; do
+        echo "Waiting for primary..."
+        sleep 2
+    done
+    PGPASSWORD="$POSTGRES_PASSWORD" pg_basebackup -h postgres -U "$POSTGRES_USER" \
+        -D "$PGDATA" -R -X stream -P
+    chmod 0700 "$PGDATA"
+fi
+
+exec postgres
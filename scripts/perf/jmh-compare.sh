@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+# Compare two JMH JSON result files, e.g. the previous release against the current build.
+#
+# Prints the score of every benchmark/parameter combination in both files and the relative
+# change; exits non-zero if any benchmark got slower than the threshold (in percent).
+#
+# Usage: scripts/perf/jmh-compare.sh baseline.json [current.json] [threshold]
+set -euo pipefail
+
+BASELINE=$1
+CURRENT=${2:-build/reports/jmh/results.json}
+THRESHOLD=${3:-10}
+
+scores() {
+    jq -r '.[] | "\(.benchmark)\(if .params then " " + ([.params | to_entries[] | "\(.key)=\(.value)"] | join(",")) else "" end)\t\(.primaryMetric.score)\t\(.primaryMetric.scoreUnit)"' "$1" | sort
+}
+
+join -t $'\t' <(scores "$BASELINE") <(scores "$CURRENT") | awk -F '\t' -v threshold="$THRESHOLD" '
+    {
+        # Columns: name, baseline score, unit, current score, unit; all modes here are time per op
+        change = ($4 - $2) / $2 * 100
+        flag = change > threshold ? "  REGRESSION" : ""
+        if (flag != "") failed = 1
+        printf "%-80s %12.3f -> %12.3f %-6s %+7.1f%%%s\n", $1, $2, $4, $3, change, flag
+    }
+    END { exit failed }
+'
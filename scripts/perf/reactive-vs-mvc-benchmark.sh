@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Load-test the MVC API (port 8080) and the reactive read API (port 8081) side by side.
+#
+# Both applications run against the local PostgreSQL (docker-compose up -d postgres) and are
+# driven with the same GET load: many clients that pause between requests, like slow readers
+# on keep-alive connections.
+#
+# Usage: scripts/perf/reactive-vs-mvc-benchmark.sh [concurrency] [duration] [think]
+set -euo pipefail
+
+CONCURRENCY=${1:-5000}
+DURATION=${2:-60s}
+THINK=${3:-500ms}
+MVC_URL="http://localhost:8080"
+REACTIVE_URL="http://localhost:8081"
+
+cd "$(dirname "$0")/../.."
+./gradlew -q bootJar :reactive-read:bootJar
+MVC_JAR=$(ls build/libs/*.jar | grep -v plain | head -n 1)
+REACTIVE_JAR=$(ls reactive-read/build/libs/*.jar | grep -v plain | head -n 1)
+
+# The reactive app has no rate or concurrency limit; disable both in MVC so the comparison is fair
+# and one user's token driving every client does not turn most requests into 429/503
+java -jar "${MVC_JAR}" --spring.jpa.show-sql=false \
+    --app.rate-limit.enabled=false --app.concurrency-limit.enabled=false > build/benchmark-mvc.log 2>&1 &
+MVC_PID=$!
+java -jar "${REACTIVE_JAR}" > build/benchmark-reactive.log 2>&1 &
+REACTIVE_PID=$!
+trap 'kill ${MVC_PID} ${REACTIVE_PID} 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 60); do
+    if curl -s -o /dev/null "${MVC_URL}/actuator/health" && curl -s -o /dev/null "${REACTIVE_URL}/api/contents"; then
+        break
+    fi
+    sleep 1
+done
+
+curl -s -o /dev/null -X POST "${MVC_URL}/api/auth/signup" -H 'Content-Type: application/json' \
+    -d '{"username":"benchmark","email":"benchmark@example.com","password":"benchmark123"}' || true
+TOKEN=$(curl -s -X POST "${MVC_URL}/api/auth/login" -H 'Content-Type: application/json' \
+    -d '{"username":"benchmark","password":"benchmark123"}' | sed -E 's/.*"token":"([^"]+)".*/\1/')
+
+for TARGET in "mvc ${MVC_URL}" "reactive ${REACTIVE_URL}"; do
+    set -- ${TARGET}
+    ./gradlew -q httpBenchmark -PbenchmarkArgs="--url $2/api/contents?size=20 --token ${TOKEN} \
+--concurrency ${CONCURRENCY} --duration ${DURATION} --think ${THINK} --label $1"
+done
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Compare Tomcat's platform-thread pool with virtual-thread request handling.
+#
+# Starts the application twice against the local PostgreSQL (docker-compose up -d postgres),
+# once per mode, and drives GET /api/contents with the same closed-model load.
+# Carrier-thread pinning is reported by -Djdk.tracePinnedThreads and counted from the log.
+#
+# Usage: scripts/perf/virtual-threads-benchmark.sh [concurrency] [duration]
+set -euo pipefail
+
+CONCURRENCY=${1:-1000}
+DURATION=${2:-60s}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}"
+# A larger pool than the default 10 so the database is not the only bottleneck
+export DB_POOL_SIZE=${DB_POOL_SIZE:-50}
+# One user's token drives every client: rate limiting and load shedding would turn most requests
+# into 429/503 and measure the limiters instead of the request handling
+LIMITS_OFF="--app.rate-limit.enabled=false --app.concurrency-limit.enabled=false"
+
+cd "$(dirname "$0")/../.."
+./gradlew -q bootJar
+JAR=$(ls build/libs/*.jar | grep -v plain | head -n 1)
+
+wait_for_server() {
+    for _ in $(seq 1 60); do
+        if curl -s -o /dev/null "${BASE_URL}/actuator/health"; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Server did not start" >&2
+    return 1
+}
+
+obtain_token() {
+    curl -s -o /dev/null -X POST "${BASE_URL}/api/auth/signup" -H 'Content-Type: application/json' \
+        -d '{"username":"benchmark","email":"benchmark@example.com","password":"benchmark123"}' || true
+    curl -s -X POST "${BASE_URL}/api/auth/login" -H 'Content-Type: application/json' \
+        -d '{"username":"benchmark","password":"benchmark123"}' | sed -E 's/.*"token":"([^"]+)".*/\1/'
+}
+
+for VIRTUAL in false true; do
+    LOG="build/benchmark-virtual-threads-${VIRTUAL}.log"
+    VIRTUAL_THREADS_ENABLED=${VIRTUAL} java -Djdk.tracePinnedThreads=short -jar "${JAR}" \
+        --server.port="${PORT}" --spring.jpa.show-sql=false ${LIMITS_OFF} > "${LOG}" 2>&1 &
+    PID=$!
+    trap 'kill ${PID} 2>/dev/null || true' EXIT
+
+    wait_for_server
+    TOKEN=$(obtain_token)
+    ./gradlew -q httpBenchmark -PbenchmarkArgs="--url ${BASE_URL}/api/contents?size=20 --token ${TOKEN} \
+--concurrency ${CONCURRENCY} --duration ${DURATION} --label virtual-threads=${VIRTUAL}"
+
+    kill "${PID}"
+    wait "${PID}" 2>/dev/null || true
+    echo "pinned carrier threads reported: $(grep -c '<== monitors' "${LOG}" || true)"
+done
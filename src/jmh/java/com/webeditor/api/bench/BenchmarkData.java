@@ -0,0 +1,40 @@
+package com.webeditor.api.bench;
+
+import com.webeditor.api.entity.Content;
+import com.webeditor.api.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entities shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static User author() {
+        return User.builder()
+                .id(1L)
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("unused")
+                .role("ROLE_USER")
+                .build();
+    }
+
+    static Content content(Long id, User author, int bodyLength) {
+        LocalDateTime now = LocalDateTime.now();
+        return Content.builder()
+                .id(id)
+                .title("Benchmark content " + id)
+                .body("Lorem ipsum dolor sit amet. ".repeat(bodyLength / 28 + 1).substring(0, bodyLength))
+                .status("PUBLISHED")
+                .tags("java,spring,benchmark")
+                .author(author)
+                .createdAt(now)
+                .updatedAt(now)
+                .version(0L)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.webeditor.api.bench;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.webeditor.api.dto.ContentResponse;
+import com.webeditor.api.entity.User;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading a list page as JSON, CBOR and Smile, the encodings the API negotiates
+ * through {@code Accept}. The payload size of each format is reported as the secondary result
+ * {@code bytes}, next to the scores in results.json.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"200", "2000"})
+    private int bodyLength;
+
+    private ObjectMapper objectMapper;
+    private Page<ContentResponse> page;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Configured like the converters registered in WebConfig
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        User author = BenchmarkData.author();
+        List<ContentResponse> contents = new ArrayList<>(20);
+        for (long id = 1; id <= 20; id++) {
+            contents.add(ContentResponse.fromEntity(BenchmarkData.content(id, author, bodyLength)));
+        }
+        page = new PageImpl<>(contents, PageRequest.of(0, 20), 10_000);
+        encoded = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] write(PayloadSize payloadSize) throws IOException {
+        byte[] written = objectMapper.writeValueAsBytes(page);
+        payloadSize.bytes = written.length;
+        return written;
+    }
+
+    @Benchmark
+    public JsonNode read(PayloadSize payloadSize) throws IOException {
+        payloadSize.bytes = encoded.length;
+        return objectMapper.readTree(encoded);
+    }
+
+    /**
+     * Size of the encoded page; an event counter, so it is reported as is rather than per time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long bytes;
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
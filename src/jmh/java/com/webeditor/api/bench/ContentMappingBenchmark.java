@@ -0,0 +1,34 @@
+package com.webeditor.api.bench;
+
+import com.webeditor.api.dto.ContentResponse;
+import com.webeditor.api.entity.Content;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping, run for every content in every response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ContentMappingBenchmark {
+
+    private Content content;
+
+    @Setup
+    public void setUp() {
+        content = BenchmarkData.content(1L, BenchmarkData.author(), 2_000);
+    }
+
+    @Benchmark
+    public ContentResponse fromEntity() {
+        return ContentResponse.fromEntity(content);
+    }
+}
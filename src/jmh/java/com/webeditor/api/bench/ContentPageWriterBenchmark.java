@@ -0,0 +1,112 @@
+package com.webeditor.api.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.webeditor.api.controller.ContentPageHttpMessageConverter;
+import com.webeditor.api.dto.ContentPage;
+import com.webeditor.api.dto.ContentResponse;
+import com.webeditor.api.entity.Content;
+import com.webeditor.api.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A list response written the default way (entities mapped to {@code ContentResponse}, then
+ * {@code Page} serialized by Jackson) against the compact {@code ContentPage} streamed from the
+ * entities.
+ *
+ * <p>Run with the gc profiler, which the jmh task enables, and compare {@code gc.alloc.rate.norm}
+ * (bytes allocated per response) as well as the time per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ContentPageWriterBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"500", "5000"})
+    private int bodyLength;
+
+    private ObjectMapper objectMapper;
+    private ContentPageHttpMessageConverter converter;
+    private Page<Content> entities;
+    private ReusableOutputMessage output;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        converter = new ContentPageHttpMessageConverter(objectMapper.getFactory());
+        User author = BenchmarkData.author();
+        List<Content> contents = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            contents.add(BenchmarkData.content(id, author, bodyLength));
+        }
+        entities = new PageImpl<>(contents, PageRequest.of(0, pageSize), 10_000);
+        output = new ReusableOutputMessage();
+    }
+
+    @Benchmark
+    public int jacksonResponsePage() throws IOException {
+        output.reset();
+        objectMapper.writeValue(output.getBody(), entities.map(ContentResponse::fromEntity));
+        return output.size();
+    }
+
+    @Benchmark
+    public int streamedContentPage() throws IOException {
+        output.reset();
+        converter.write(ContentPage.of(entities), ContentPage.MEDIA_TYPE, output);
+        return output.size();
+    }
+
+    /**
+     * Output message over one buffer, so neither variant pays for growing a new one.
+     */
+    private static final class ReusableOutputMessage implements HttpOutputMessage {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1 << 20);
+        private final HttpHeaders headers = new HttpHeaders();
+
+        void reset() {
+            body.reset();
+            headers.clear();
+        }
+
+        int size() {
+            return body.size();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
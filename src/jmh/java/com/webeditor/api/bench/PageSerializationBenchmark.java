@@ -0,0 +1,60 @@
+package com.webeditor.api.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.webeditor.api.dto.ContentResponse;
+import com.webeditor.api.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@code Page<ContentResponse>}, as written by the list endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int pageSize;
+
+    @Param({"200", "2000", "20000"})
+    private int bodyLength;
+
+    private ObjectMapper objectMapper;
+    private Page<ContentResponse> page;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot builds for MVC
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        User author = BenchmarkData.author();
+        List<ContentResponse> contents = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            contents.add(ContentResponse.fromEntity(BenchmarkData.content(id, author, bodyLength)));
+        }
+        page = new PageImpl<>(contents, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,59 @@
+package com.webeditor.api.cache;
+
+import com.webeditor.api.event.ContentChangedEvent;
+import com.webeditor.api.event.ContentPartitionsDetachedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Single place that evicts a content from every in-process cache once a write commits.
+ */
+@Component
+public class ContentCacheInvalidator {
+
+    @Autowired
+    private PublishedContentCache publishedContentCache;
+
+    @Autowired
+    private SingleFlightLoader<Long, LoadedContent> contentLoader;
+
+    /**
+     * Evict a content after a committed write.
+     *
+     * @param event the content change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        evict(event.getContentId());
+    }
+
+    /**
+     * Evict everything after partitions were detached; their content ids are not known here.
+     *
+     * @param event the detached partitions
+     */
+    @EventListener
+    public void onPartitionsDetached(ContentPartitionsDetachedEvent event) {
+        evictAll();
+    }
+
+    /**
+     * Evict a content from all local caches.
+     *
+     * @param id the content id
+     */
+    public void evict(Long id) {
+        publishedContentCache.invalidate(id);
+        contentLoader.invalidate(id);
+    }
+
+    /**
+     * Evict every content from all local caches.
+     */
+    public void evictAll() {
+        publishedContentCache.invalidateAll();
+        contentLoader.invalidateAll();
+    }
+}
@@ -0,0 +1,23 @@
+package com.webeditor.api.cache;
+
+import com.webeditor.api.dto.ContentResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A content as loaded from the database, with its serialized body when it is published.
+ *
+ * <p>Handing the serialized body back to the caller saves a second lookup in
+ * {@link PublishedContentCache} after a load, which would count every miss as a hit as well.
+ */
+@Getter
+@AllArgsConstructor
+public class LoadedContent {
+
+    private final ContentResponse response;
+
+    /**
+     * Serialized body of a published content, null for other statuses.
+     */
+    private final PublishedContentCache.CachedContent cached;
+}
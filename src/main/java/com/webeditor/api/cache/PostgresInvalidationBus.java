@@ -0,0 +1,348 @@
+package com.webeditor.api.cache;
+
+import com.webeditor.api.event.ContentChangedEvent;
+import com.webeditor.api.event.ContentPartitionsDetachedEvent;
+import com.webeditor.api.event.ContentSnapshot;
+import com.webeditor.api.index.ContentFilterIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the in-process caches of several nodes consistent through Postgres {@code LISTEN/NOTIFY}.
+ *
+ * <p>Only active with {@code app.cache.invalidation.enabled=true}. Content writes are collected
+ * per transaction and sent as one {@code pg_notify} just before it commits, so other
+ * nodes hear about a write exactly when it becomes visible and never for a rolled-back one.
+ * Each node listens on a dedicated connection to the primary and evicts the keys named by other
+ * nodes. A content key also carries the indexed attributes before and after the write, so other
+ * nodes apply it to their {@link ContentFilterIndex} as well. Notifications sent while that
+ * connection is down are lost, so every reconnect flushes all local caches and rebuilds the index;
+ * so does {@link #ALL_KEY}, sent after partitions were detached.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cache.invalidation", name = "enabled", havingValue = "true")
+public class PostgresInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    /**
+     * Postgres rejects payloads of 8000 bytes or more; stay well below.
+     */
+    static final int MAX_PAYLOAD_BYTES = 7000;
+
+    static final String CONTENT_PREFIX = "c:";
+
+    /**
+     * Key telling other nodes that any content may be gone: flush all caches, rebuild the index.
+     */
+    static final String ALL_KEY = "*";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private ContentCacheInvalidator contentCacheInvalidator;
+
+    @Autowired
+    private ContentFilterIndex contentFilterIndex;
+
+    @Value("${app.cache.invalidation.channel:webeditor_invalidation}")
+    private String channel;
+
+    @Value("${app.cache.invalidation.poll-interval:500ms}")
+    private Duration pollInterval;
+
+    @Value("${app.cache.invalidation.reconnect-delay:5s}")
+    private Duration reconnectDelay;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    /**
+     * Queue a content for invalidation on the other nodes.
+     *
+     * @param event the content change
+     */
+    @EventListener
+    public void onContentChanged(ContentChangedEvent event) {
+        enqueue(contentKey(event));
+    }
+
+    /**
+     * Tell the other nodes that the contents of detached partitions are gone.
+     *
+     * @param event the detached partitions
+     */
+    @EventListener
+    public void onPartitionsDetached(ContentPartitionsDetachedEvent event) {
+        enqueue(ALL_KEY);
+    }
+
+    /**
+     * Start listening once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    /**
+     * Stop listening and close the dedicated connection.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void enqueue(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(key));
+            return;
+        }
+        PendingInvalidations pending = (PendingInvalidations) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidations();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.keys.add(key);
+    }
+
+    private void send(Collection<String> keys) {
+        for (String payload : encode(nodeId, keys, MAX_PAYLOAD_BYTES)) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                // Anything sent while this node was not listening has been missed
+                contentCacheInvalidator.evictAll();
+                if (reconnect) {
+                    contentFilterIndex.rebuild();
+                }
+                reconnect = true;
+                log.info("Listening for cache invalidations on channel {}", channel);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollInterval.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, reconnecting in {}", reconnectDelay, e);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        Message message = decode(payload);
+        if (message == null || nodeId.equals(message.getOrigin())) {
+            return;
+        }
+        if (message.getKeys().contains(ALL_KEY)) {
+            contentCacheInvalidator.evictAll();
+            contentFilterIndex.rebuild();
+            return;
+        }
+        for (String key : message.getKeys()) {
+            if (key.startsWith(CONTENT_PREFIX)) {
+                ContentChangedEvent event = parseContentKey(key);
+                contentCacheInvalidator.evict(event.getContentId());
+                // Applied directly rather than republished, so counters are not adjusted twice
+                contentFilterIndex.onContentChanged(event);
+            }
+        }
+    }
+
+    /**
+     * Encode a content write as a key of the form {@code c:id:previous:current}, where each
+     * snapshot is {@code -} or {@code authorId/status/tags} with status and tags URL-encoded.
+     *
+     * @param event the content change
+     * @return the key, free of {@code ;} and {@code ,}
+     */
+    static String contentKey(ContentChangedEvent event) {
+        return CONTENT_PREFIX + event.getContentId() + ':' + snapshotKey(event.getPrevious())
+                + ':' + snapshotKey(event.getCurrent());
+    }
+
+    /**
+     * Decode a key produced by {@link #contentKey}.
+     *
+     * @param key the content key
+     * @return the content change it describes
+     */
+    static ContentChangedEvent parseContentKey(String key) {
+        String[] parts = key.substring(CONTENT_PREFIX.length()).split(":", -1);
+        Long id = Long.valueOf(parts[0]);
+        return new ContentChangedEvent(parseSnapshot(id, parts[1]), parseSnapshot(id, parts[2]));
+    }
+
+    private static String snapshotKey(ContentSnapshot snapshot) {
+        if (snapshot == null) {
+            return "-";
+        }
+        return snapshot.getAuthorId() + "/" + urlEncode(snapshot.getStatus()) + "/" + urlEncode(snapshot.getTags());
+    }
+
+    private static ContentSnapshot parseSnapshot(Long id, String key) {
+        if ("-".equals(key)) {
+            return null;
+        }
+        String[] fields = key.split("/", -1);
+        return new ContentSnapshot(id, Long.valueOf(fields[0]), urlDecode(fields[1]), urlDecode(fields[2]));
+    }
+
+    // Null is encoded as an empty field; tags and status are never meaningfully empty
+    private static String urlEncode(String value) {
+        return value == null ? "" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String urlDecode(String value) {
+        return value.isEmpty() ? null : URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Pack keys into as few payloads as fit under the size limit.
+     *
+     * <p>A key too long to fit any payload on its own, e.g. for very long tags, is replaced by
+     * {@link #ALL_KEY}, which makes every node drop everything rather than fail the write.
+     *
+     * @param origin   id of the sending node
+     * @param keys     keys to invalidate, free of {@code ;} and {@code ,}
+     * @param maxBytes maximum payload size in bytes
+     * @return payloads of the form {@code origin;key,key,...}
+     */
+    static List<String> encode(String origin, Collection<String> keys, int maxBytes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(origin).append(';');
+        int header = payload.length();
+        for (String key : keys) {
+            if (header + key.length() > maxBytes) {
+                return List.of(payload.append(ALL_KEY).toString());
+            }
+            if (payload.length() > header && payload.length() + 1 + key.length() > maxBytes) {
+                payloads.add(payload.toString());
+                payload.setLength(header);
+            }
+            if (payload.length() > header) {
+                payload.append(',');
+            }
+            payload.append(key);
+        }
+        if (payload.length() > header) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Unpack a payload produced by {@link #encode}.
+     *
+     * @param payload the notification payload
+     * @return the message, or null if the payload is malformed
+     */
+    static Message decode(String payload) {
+        int separator = payload != null ? payload.indexOf(';') : -1;
+        if (separator <= 0) {
+            return null;
+        }
+        List<String> keys = new ArrayList<>();
+        for (String key : payload.substring(separator + 1).split(",")) {
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+        }
+        return new Message(payload.substring(0, separator), keys);
+    }
+
+    /**
+     * A decoded invalidation message: the node that made the writes and the invalidated keys.
+     */
+    @Getter
+    @AllArgsConstructor
+    static class Message {
+
+        private final String origin;
+        private final List<String> keys;
+    }
+
+    private final class PendingInvalidations implements TransactionSynchronization {
+
+        private final Set<String> keys = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Sent on the transaction's own connection, so Postgres delivers it on commit only
+            send(keys);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PostgresInvalidationBus.this);
+        }
+    }
+}
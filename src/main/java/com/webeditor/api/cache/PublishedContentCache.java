@@ -0,0 +1,263 @@
+package com.webeditor.api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webeditor.api.dto.ContentResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory cache of published contents as ready-to-send response bodies.
+ *
+ * <p>Each entry holds the serialized JSON both as-is and gzip-compressed, so a cache hit is a
+ * map lookup followed by writing one of the two buffers. Entries are evicted by
+ * {@link ContentCacheInvalidator} once the write that changes or deletes the content commits.
+ */
+@Component
+public class PublishedContentCache {
+
+    /**
+     * Status of contents eligible for caching.
+     */
+    public static final String PUBLISHED = "PUBLISHED";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.cache.published.max-bytes:67108864}")
+    private long maxBytes;
+
+    private final Map<Long, CachedContent> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong size = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    /**
+     * Get the cached body of a published content.
+     *
+     * @param id the content id
+     * @return the cached content, or null if not cached
+     */
+    public CachedContent get(Long id) {
+        CachedContent cached = entries.get(id);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Take a stamp before loading a content from the database, to pass to {@link #put}.
+     *
+     * @return the current invalidation stamp
+     */
+    public long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Serialize a published content and cache it unless it was invalidated since the stamp.
+     *
+     * @param content the content as loaded after {@code stamp} was taken
+     * @param stamp   the stamp taken before loading
+     * @return the serialized content, whether or not it was admitted to the cache
+     */
+    public CachedContent put(ContentResponse content, long stamp) {
+        CachedContent cached = serialize(content);
+        puts.increment();
+        if (stamp != invalidations.get()) {
+            return cached;
+        }
+        CachedContent replaced = entries.put(content.getId(), cached);
+        size.addAndGet(cached.weight() - (replaced != null ? replaced.weight() : 0));
+        // An invalidation racing with this put may have run before the entry was visible
+        if (stamp != invalidations.get() && entries.remove(content.getId(), cached)) {
+            size.addAndGet(-cached.weight());
+        }
+        evictOverCapacity();
+        return cached;
+    }
+
+    /**
+     * Evict a content from the cache.
+     *
+     * @param id the content id
+     */
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        CachedContent removed = entries.remove(id);
+        if (removed != null) {
+            size.addAndGet(-removed.weight());
+        }
+    }
+
+    /**
+     * Evict every cached content.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        for (Long id : entries.keySet()) {
+            CachedContent removed = entries.remove(id);
+            if (removed != null) {
+                size.addAndGet(-removed.weight());
+            }
+        }
+    }
+
+    /**
+     * Get the number of cached contents.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of lookups answered from the cache.
+     *
+     * @return number of hits
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of lookups that found no cached content.
+     *
+     * @return number of misses
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Get the number of published contents serialized after a database load, i.e. cache misses.
+     *
+     * @return number of puts
+     */
+    public long putCount() {
+        return puts.sum();
+    }
+
+    /**
+     * Get the serialized size of all cached contents.
+     *
+     * @return size in bytes
+     */
+    public long sizeInBytes() {
+        return size.get();
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows a gzip-encoded response.
+     *
+     * @param acceptEncoding the header value, may be null
+     * @return true if gzip is acceptable
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        // An explicit gzip entry wins over "*" wherever it appears in the list
+        Boolean gzip = null;
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip")) {
+                gzip = isAccepted(params);
+            } else if (coding.equals("*")) {
+                wildcard = isAccepted(params);
+            }
+        }
+        if (gzip != null) {
+            return gzip;
+        }
+        return wildcard != null && wildcard;
+    }
+
+    private static boolean isAccepted(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void evictOverCapacity() {
+        // Approximate: entries are dropped in map order, not by recency
+        Iterator<Map.Entry<Long, CachedContent>> iterator = entries.entrySet().iterator();
+        while (size.get() > maxBytes && iterator.hasNext()) {
+            Map.Entry<Long, CachedContent> entry = iterator.next();
+            if (entries.remove(entry.getKey(), entry.getValue())) {
+                size.addAndGet(-entry.getValue().weight());
+            }
+        }
+    }
+
+    private CachedContent serialize(ContentResponse content) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(content);
+            return new CachedContent(identity, gzip(identity), content.getVersion());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize content " + content.getId(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 32);
+        // Compressed once per change and sent many times, so spend the CPU on the best ratio
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A published content serialized as JSON, uncompressed and gzip-compressed.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CachedContent {
+
+        private final byte[] identity;
+        private final byte[] gzip;
+        private final Long version;
+
+        long weight() {
+            return identity.length + gzip.length;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.webeditor.api.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key into one call of the loader.
+ *
+ * <p>While a key is being loaded, further callers wait for and share that load instead of
+ * starting their own. Optionally, loaded values are kept: within {@code freshFor} they are
+ * returned directly, and for a further {@code staleWhileRevalidate} they are returned while a
+ * single background load refreshes them. Invalidating a key drops its value: it may have been
+ * deleted or unpublished, so it is never served again. Concurrent callers after a write to a hot
+ * key still share a single reload.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class SingleFlightLoader<K, V> {
+
+    private final long freshNanos;
+    private final long staleNanos;
+    private final int maxEntries;
+    private final Executor refreshExecutor;
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, Entry<V>> values = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Create a loader.
+     *
+     * @param freshFor             how long a loaded value is returned without reloading, zero to keep none
+     * @param staleWhileRevalidate how long after that a value is still returned while refreshing
+     * @param maxEntries           maximum number of kept values
+     * @param refreshExecutor      executor for background refreshes
+     */
+    public SingleFlightLoader(Duration freshFor, Duration staleWhileRevalidate, int maxEntries,
+                              Executor refreshExecutor) {
+        this.freshNanos = freshFor.toNanos();
+        this.staleNanos = staleWhileRevalidate.toNanos();
+        this.maxEntries = maxEntries;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Get the value for a key, loading it at most once across concurrent callers.
+     *
+     * @param key    the key
+     * @param loader loads the value; its exceptions are rethrown to every waiting caller
+     * @return the value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        if (keepsValues()) {
+            Entry<V> entry = values.get(key);
+            if (entry != null) {
+                long age = System.nanoTime() - entry.loadedAt;
+                if (age < freshNanos) {
+                    hits.increment();
+                    return entry.value;
+                }
+                if (age < freshNanos + staleNanos) {
+                    staleHits.increment();
+                    refreshInBackground(key, loader);
+                    return entry.value;
+                }
+            }
+        }
+        return join(load(key, loader));
+    }
+
+    /**
+     * Invalidate a key after its value changed.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        invalidations.incrementAndGet();
+        // Callers arriving from now on must not join a load that may predate the change
+        inFlight.remove(key);
+        // Stale-while-revalidate covers expiry only; an invalidated value may no longer exist
+        values.remove(key);
+    }
+
+    /**
+     * Drop every kept value.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        inFlight.clear();
+        values.clear();
+    }
+
+    /**
+     * Get the number of loads currently in flight.
+     *
+     * @return number of keys being loaded
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Get the number of calls answered with a fresh kept value.
+     *
+     * @return number of hits
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Get the number of calls answered with a stale value while it was refreshed.
+     *
+     * @return number of stale hits
+     */
+    public long staleHitCount() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Get the number of calls that ran the loader themselves.
+     *
+     * @return number of loads, excluding background refreshes
+     */
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Get the number of calls that waited for another caller's load instead of loading.
+     *
+     * @return number of coalesced calls
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Get the number of kept values.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return values.size();
+    }
+
+    private CompletableFuture<V> load(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        loads.increment();
+        complete(key, loader, created);
+        return created;
+    }
+
+    private void refreshInBackground(K key, Function<? super K, ? extends V> loader) {
+        // Registered before the task runs, so readers of the stale value schedule one refresh
+        CompletableFuture<V> created = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, created) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> complete(key, loader, created));
+        } catch (RejectedExecutionException e) {
+            complete(key, loader, created);
+        }
+    }
+
+    private void complete(K key, Function<? super K, ? extends V> loader, CompletableFuture<V> future) {
+        long stamp = invalidations.get();
+        try {
+            V value = loader.apply(key);
+            store(key, value, stamp);
+            future.complete(value);
+        } catch (RuntimeException | Error e) {
+            values.remove(key);
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private void store(K key, V value, long stamp) {
+        // A load that overlapped an invalidation may have read the old value
+        if (!keepsValues() || stamp != invalidations.get()) {
+            return;
+        }
+        values.put(key, new Entry<>(value, System.nanoTime()));
+        Iterator<K> keys = values.keySet().iterator();
+        while (values.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private boolean keepsValues() {
+        return freshNanos > 0 || staleNanos > 0;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
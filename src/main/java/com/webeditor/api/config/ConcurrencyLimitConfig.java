@@ -0,0 +1,46 @@
+package com.webeditor.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webeditor.api.ratelimit.AdaptiveConcurrencyLimiter;
+import com.webeditor.api.ratelimit.ConcurrencyLimitFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive concurrency limit in front of the content API.
+ *
+ * <p>Enabled with {@code app.concurrency-limit.enabled=true}. When the database slows down the
+ * limit shrinks, so excess requests fail fast with 503 instead of piling up in Tomcat's queue.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter contentConcurrencyLimiter(
+            @Value("${app.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${app.concurrency-limit.min-limit:5}") int minLimit,
+            @Value("${app.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${app.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${app.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${app.concurrency-limit.long-window:600}") int longWindow,
+            @Value("${app.concurrency-limit.window-samples:10}") int windowSamples) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing, tolerance, longWindow,
+                windowSamples);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter contentConcurrencyLimiter, ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(contentConcurrencyLimiter, objectMapper));
+        registration.addUrlPatterns("/api/contents/*");
+        // Before the security chain, so shed requests skip authentication
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
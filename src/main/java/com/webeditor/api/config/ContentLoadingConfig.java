@@ -0,0 +1,52 @@
+package com.webeditor.api.config;
+
+import com.webeditor.api.cache.LoadedContent;
+import com.webeditor.api.cache.SingleFlightLoader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration for coalesced content loading.
+ */
+@Configuration
+public class ContentLoadingConfig {
+
+    /**
+     * Loader that collapses concurrent reads of the same content into one query.
+     *
+     * @param freshFor             how long loaded contents are reused without a query
+     * @param staleWhileRevalidate how long stale contents are served while one query refreshes them
+     * @param maxEntries           maximum number of kept contents
+     * @param executor             executor for background refreshes
+     * @return the content loader
+     */
+    @Bean
+    public SingleFlightLoader<Long, LoadedContent> contentLoader(
+            @Value("${app.contents.single-flight.fresh-for:0s}") Duration freshFor,
+            @Value("${app.contents.single-flight.stale-while-revalidate:0s}") Duration staleWhileRevalidate,
+            @Value("${app.contents.single-flight.max-entries:10000}") int maxEntries,
+            @Qualifier("applicationTaskExecutor") Executor executor) {
+        return new SingleFlightLoader<>(freshFor, staleWhileRevalidate, maxEntries, executor);
+    }
+
+    /**
+     * Read-only transactions for work started outside a transactional method.
+     *
+     * @param transactionManager the transaction manager
+     * @return read-only transaction operations
+     */
+    @Bean
+    public TransactionOperations readOnlyTransactionOperations(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,31 @@
+package com.webeditor.api.config;
+
+import com.webeditor.api.views.TrendingTracker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for view counting and the trending list.
+ */
+@Configuration
+public class ContentViewsConfig {
+
+    /**
+     * Sliding-window ranking of the most viewed contents.
+     *
+     * @param buckets     number of buckets in the window, each lasting app.views.trending.bucket-duration
+     * @param capacity    number of contents ranked
+     * @param sketchWidth cells per Count-Min sketch row, a power of two
+     * @param sketchDepth rows per Count-Min sketch
+     * @return the trending tracker
+     */
+    @Bean
+    public TrendingTracker trendingTracker(
+            @Value("${app.views.trending.buckets:10}") int buckets,
+            @Value("${app.views.trending.capacity:100}") int capacity,
+            @Value("${app.views.trending.sketch-width:2048}") int sketchWidth,
+            @Value("${app.views.trending.sketch-depth:4}") int sketchDepth) {
+        return new TrendingTracker(buckets, capacity, sketchWidth, sketchDepth);
+    }
+}
@@ -0,0 +1,119 @@
+package com.webeditor.api.config;
+
+import com.webeditor.api.cache.LoadedContent;
+import com.webeditor.api.cache.PublishedContentCache;
+import com.webeditor.api.cache.SingleFlightLoader;
+import com.webeditor.api.metrics.EntityLoadCountingIntegrator;
+import com.webeditor.api.ratelimit.AdaptiveConcurrencyLimiter;
+import com.webeditor.api.service.ContentViewService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Application metrics beyond what Spring Boot binds automatically (HTTP, Hikari, Hibernate, JVM).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enable {@code @Timed} on Spring beans such as ContentService.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Count entity loads per request, next to the statement count from CountingStatementInspector.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer entityLoadCountingCustomizer() {
+        return properties -> properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(new EntityLoadCountingIntegrator()));
+    }
+
+    /**
+     * Hit, load and size metrics of the in-process content caches.
+     */
+    @Bean
+    public MeterBinder contentCacheMetrics(PublishedContentCache publishedContentCache,
+                                           SingleFlightLoader<Long, LoadedContent> contentLoader) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", publishedContentCache, PublishedContentCache::hitCount)
+                    .tags("cache", "published", "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", publishedContentCache, PublishedContentCache::missCount)
+                    .tags("cache", "published", "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.puts", publishedContentCache, PublishedContentCache::putCount)
+                    .tags("cache", "published")
+                    .register(registry);
+            Gauge.builder("cache.size", publishedContentCache, PublishedContentCache::size)
+                    .tags("cache", "published")
+                    .register(registry);
+            Gauge.builder("cache.bytes", publishedContentCache, PublishedContentCache::sizeInBytes)
+                    .tags("cache", "published")
+                    .baseUnit("bytes")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.gets", contentLoader, SingleFlightLoader::hitCount)
+                    .tags("cache", "content-loader", "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", contentLoader, SingleFlightLoader::staleHitCount)
+                    .tags("cache", "content-loader", "result", "stale")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", contentLoader, SingleFlightLoader::coalescedCount)
+                    .tags("cache", "content-loader", "result", "coalesced")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", contentLoader, SingleFlightLoader::loadCount)
+                    .tags("cache", "content-loader", "result", "miss")
+                    .register(registry);
+            Gauge.builder("cache.size", contentLoader, SingleFlightLoader::size)
+                    .tags("cache", "content-loader")
+                    .register(registry);
+            Gauge.builder("webeditor.content.loads.in.flight", contentLoader, SingleFlightLoader::inFlightCount)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Write-behind state of the view counters.
+     */
+    @Bean
+    public MeterBinder contentViewMetrics(ContentViewService contentViewService) {
+        return registry -> {
+            Gauge.builder("webeditor.content.views.pending", contentViewService, ContentViewService::pendingCount)
+                    .register(registry);
+            FunctionCounter.builder("webeditor.content.views.flushed", contentViewService,
+                            ContentViewService::flushedCount)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Current limit, in-flight requests and rejections of the adaptive concurrency limit, if enabled.
+     */
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+        return registry -> limiter.ifAvailable(contentLimiter -> {
+            Gauge.builder("webeditor.concurrency.limit", contentLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .register(registry);
+            Gauge.builder("webeditor.concurrency.in.flight", contentLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(registry);
+            FunctionCounter.builder("webeditor.concurrency.rejected", contentLimiter,
+                            AdaptiveConcurrencyLimiter::getRejectedCount)
+                    .register(registry);
+        });
+    }
+}
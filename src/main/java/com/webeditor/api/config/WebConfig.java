@@ -0,0 +1,64 @@
+package com.webeditor.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.webeditor.api.controller.ContentPageHttpMessageConverter;
+import com.webeditor.api.metrics.ProfilingHandlerInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC configuration.
+ *
+ * <p>JSON stays the default representation: the binary converters only apply when a client
+ * names their media type in {@code Accept}.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * CBOR for clients sending {@code Accept: application/cbor}, configured like the JSON mapper.
+     *
+     * @param builder Spring Boot's mapper builder, with the spring.jackson settings applied
+     * @return the converter, replacing the unconfigured one Spring MVC would register
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Smile for clients sending {@code Accept: application/x-jackson-smile}, configured like the JSON mapper.
+     *
+     * @param builder Spring Boot's mapper builder, with the spring.jackson settings applied
+     * @return the converter, replacing the unconfigured one Spring MVC would register
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ProfilingHandlerInterceptor());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Only writes ContentPage, so it cannot shadow the Jackson converter for anything else
+        converters.add(0, new ContentPageHttpMessageConverter(objectMapper.getFactory()));
+    }
+}
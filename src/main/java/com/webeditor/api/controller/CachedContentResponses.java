@@ -0,0 +1,74 @@
+package com.webeditor.api.controller;
+
+import com.webeditor.api.cache.PublishedContentCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Builds responses that write a cached content buffer as-is.
+ */
+final class CachedContentResponses {
+
+    /**
+     * Vary header of {@code GET /api/contents/{id}}, negotiated on both format and encoding.
+     */
+    static final String VARY_FORMAT_AND_ENCODING = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private CachedContentResponses() {
+    }
+
+    /**
+     * Start a 200 response for a cached content of an endpoint that also serves binary formats.
+     *
+     * @param cached         the cached content
+     * @param acceptEncoding the request's Accept-Encoding header, may be null
+     * @return the response
+     */
+    static ResponseEntity<byte[]> ok(PublishedContentCache.CachedContent cached, String acceptEncoding) {
+        return ok(cached, acceptEncoding, null, VARY_FORMAT_AND_ENCODING);
+    }
+
+    /**
+     * Start a 200 response for a cached content of an endpoint that only serves JSON.
+     *
+     * @param cached         the cached content
+     * @param acceptEncoding the request's Accept-Encoding header, may be null
+     * @param cacheControl   the Cache-Control header value, or null for none
+     * @return the response
+     */
+    static ResponseEntity<byte[]> ok(PublishedContentCache.CachedContent cached, String acceptEncoding,
+                                     String cacheControl) {
+        return ok(cached, acceptEncoding, cacheControl, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /**
+     * Build the ETag of one representation of a content version.
+     *
+     * <p>Representations differ in bytes, so each gets its own strong tag; the version is the part
+     * before the dash, which {@code If-Match} parsing reads back.
+     *
+     * @param version        the content version
+     * @param representation suffix naming the representation, or null for uncompressed JSON
+     * @return the quoted entity tag
+     */
+    static String eTag(Long version, String representation) {
+        return representation == null ? "\"" + version + "\"" : "\"" + version + "-" + representation + "\"";
+    }
+
+    private static ResponseEntity<byte[]> ok(PublishedContentCache.CachedContent cached, String acceptEncoding,
+                                             String cacheControl, String vary) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, vary);
+        if (cacheControl != null) {
+            builder.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        if (PublishedContentCache.acceptsGzip(acceptEncoding)) {
+            return builder.eTag(eTag(cached.getVersion(), "gzip"))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(cached.getGzip());
+        }
+        return builder.eTag(eTag(cached.getVersion(), null)).body(cached.getIdentity());
+    }
+}
@@ -1,21 +1,38 @@
 package com.webeditor.api.controller;
 
+import com.webeditor.api.cache.LoadedContent;
+import com.webeditor.api.cache.PublishedContentCache;
+import com.webeditor.api.dto.ContentBatchRequest;
+import com.webeditor.api.dto.ContentPage;
 import com.webeditor.api.dto.ContentRequest;
 import com.webeditor.api.dto.ContentResponse;
+import com.webeditor.api.dto.ContentStatsResponse;
+import com.webeditor.api.dto.ContentViewsResponse;
 import com.webeditor.api.dto.MessageResponse;
+import com.webeditor.api.dto.ShareLinkResponse;
 import com.webeditor.api.entity.User;
+import com.webeditor.api.exception.ContentVersionConflictException;
+import com.webeditor.api.metrics.QueryBudget;
 import com.webeditor.api.service.ContentService;
+import com.webeditor.api.service.ContentViewService;
+import com.webeditor.api.service.ShareLinkService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,9 +40,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * REST controller for content management operations.
@@ -36,111 +60,391 @@ import org.springframework.web.bind.annotation.RestController;
 @SecurityRequirement(name = "bearerAuth")
 public class ContentController {
 
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Autowired
     private ContentService contentService;
 
+    @Autowired
+    private PublishedContentCache publishedContentCache;
+
+    @Autowired
+    private ShareLinkService shareLinkService;
+
+    @Autowired
+    private ContentViewService contentViewService;
+
+    @Value("${app.contents.batch.max-ids:200}")
+    private int batchMaxIds;
+
+    @Value("${app.contents.require-if-match:false}")
+    private boolean requireIfMatch;
+
     @Operation(summary = "Create new content", description = "Create a new content item")
     @PostMapping
+    @QueryBudget(value = 12, maxRepeats = 3)
     public ResponseEntity<ContentResponse> createContent(
             @Valid @RequestBody ContentRequest request,
             @AuthenticationPrincipal User author) {
         ContentResponse response = contentService.createContent(request, author);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(eTag(response.getVersion())).body(response);
     }
 
-    @Operation(summary = "Update content", description = "Update an existing content item")
+    @Operation(summary = "Update content",
+            description = "Update an existing content item; send the ETag as If-Match to avoid lost updates")
     @PutMapping("/{id}")
+    @QueryBudget(value = 12, maxRepeats = 3)
     public ResponseEntity<?> updateContent(
             @PathVariable Long id,
             @Valid @RequestBody ContentRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal User author) {
+        if (ifMatch == null && requireIfMatch) {
+            return ifMatchRequired();
+        }
         try {
-            ContentResponse response = contentService.updateContent(id, request, author);
-            return ResponseEntity.ok(response);
+            ContentResponse response = contentService.updateContent(id, request, author, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(eTag(response.getVersion())).body(response);
+        } catch (ContentVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(eTag(e.getCurrentVersion()))
+                    .body(new MessageResponse(e.getMessage()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return concurrentModification();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(new MessageResponse(e.getMessage()));
         }
     }
 
-    @Operation(summary = "Delete content", description = "Delete a content item")
+    @Operation(summary = "Delete content",
+            description = "Delete a content item; send the ETag as If-Match to avoid deleting newer edits")
     @DeleteMapping("/{id}")
+    @QueryBudget(value = 12, maxRepeats = 3)
     public ResponseEntity<?> deleteContent(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @AuthenticationPrincipal User author) {
+        if (ifMatch == null && requireIfMatch) {
+            return ifMatchRequired();
+        }
         try {
-            contentService.deleteContent(id, author);
+            contentService.deleteContent(id, author, parseIfMatch(ifMatch));
             return ResponseEntity.ok(new MessageResponse("Content deleted successfully"));
+        } catch (ContentVersionConflictException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(eTag(e.getCurrentVersion()))
+                    .body(new MessageResponse(e.getMessage()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return concurrentModification();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(new MessageResponse(e.getMessage()));
         }
     }
 
-    @Operation(summary = "Get content by ID", description = "Retrieve a content item by its ID")
+    @Operation(summary = "Get content by ID",
+            description = "Retrieve a content item by its ID; published contents are served from memory")
     @GetMapping("/{id}")
-    public ResponseEntity<?> getContentById(@PathVariable Long id) {
+    @QueryBudget(2)
+    public ResponseEntity<?> getContentById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // The cache holds pre-serialized JSON; binary encodings are written from the response object
+        MediaType binaryType = acceptedBinaryType(accept);
+        PublishedContentCache.CachedContent cached = binaryType == null ? publishedContentCache.get(id) : null;
+        if (cached != null) {
+            contentViewService.recordView(id);
+            return CachedContentResponses.ok(cached, acceptEncoding);
+        }
+
+        LoadedContent loaded;
         try {
-            ContentResponse response = contentService.getContentById(id);
-            return ResponseEntity.ok(response);
+            // Fills the cache when it loads a published content from the database
+            loaded = contentService.loadContentById(id);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new MessageResponse(e.getMessage()));
         }
+        contentViewService.recordView(id);
+        ContentResponse response = loaded.getResponse();
+        if (binaryType != null) {
+            return ResponseEntity.ok()
+                    .contentType(binaryType)
+                    .eTag(CachedContentResponses.eTag(response.getVersion(),
+                            binaryType.equals(MediaType.APPLICATION_CBOR) ? "cbor" : "smile"))
+                    .header(HttpHeaders.VARY, CachedContentResponses.VARY_FORMAT_AND_ENCODING)
+                    .body(response);
+        }
+        if (loaded.getCached() != null) {
+            return CachedContentResponses.ok(loaded.getCached(), acceptEncoding);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag(response.getVersion()))
+                .header(HttpHeaders.VARY, CachedContentResponses.VARY_FORMAT_AND_ENCODING)
+                .body(response);
+    }
+
+    @Operation(summary = "Get content views",
+            description = "Number of times the content was read through GET /api/contents/{id}")
+    @GetMapping("/{id}/views")
+    @QueryBudget(1)
+    public ResponseEntity<ContentViewsResponse> getContentViews(@PathVariable Long id) {
+        return ResponseEntity.ok(new ContentViewsResponse(id, contentViewService.getViews(id)));
+    }
+
+    @Operation(summary = "Get trending contents",
+            description = "Most read contents of the recent window, with estimated views; answered from memory")
+    @GetMapping("/trending")
+    @QueryBudget(0)
+    public ResponseEntity<List<ContentViewsResponse>> getTrendingContents(
+            @RequestParam(defaultValue = "10") int limit) {
+        List<ContentViewsResponse> trending = contentViewService.getTrending(limit).stream()
+                .map(entry -> new ContentViewsResponse(entry.getContentId(), entry.getViews()))
+                .toList();
+        return ResponseEntity.ok(trending);
+    }
+
+    @Operation(summary = "Create share link",
+            description = "Create a signed, expiring public link to a published content item, e.g. ttl=1d")
+    @PostMapping("/{id}/share")
+    @QueryBudget(2)
+    public ResponseEntity<?> createShareLink(
+            @PathVariable Long id,
+            @RequestParam(required = false) Duration ttl,
+            @AuthenticationPrincipal User author) {
+        try {
+            String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+            ShareLinkResponse response = shareLinkService.createShareLink(id, author, ttl, baseUrl);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Get contents by IDs",
+            description = "Retrieve several content items in one request, in the order of the given IDs")
+    @GetMapping(params = "ids")
+    @QueryBudget(1)
+    public ResponseEntity<?> getContentsByIds(@RequestParam List<Long> ids) {
+        return batchResponse(ids);
+    }
+
+    @Operation(summary = "Get contents by IDs (long lists)",
+            description = "Same as GET /api/contents?ids=..., with the IDs in the request body")
+    @PostMapping("/batch")
+    @QueryBudget(1)
+    public ResponseEntity<?> getContentsByIdsBatch(@Valid @RequestBody ContentBatchRequest request) {
+        return batchResponse(request.getIds());
     }
 
     @Operation(summary = "Get all contents", description = "Retrieve all contents with pagination")
     @GetMapping
-    public ResponseEntity<Page<ContentResponse>> getAllContents(
+    @QueryBudget(2)
+    public ResponseEntity<?> getAllContents(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Sort.Direction direction = Sort.Direction.fromString(sortDirection);
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<ContentResponse> contents = contentService.getAllContents(pageable);
-        return ResponseEntity.ok(contents);
+        if (ContentPage.isAccepted(accept)) {
+            return listResponse(contentService.getAllContentPage(since, pageable));
+        }
+        Page<ContentResponse> contents = contentService.getAllContents(since, pageable);
+        return listResponse(contents);
     }
 
     @Operation(summary = "Get my contents", description = "Retrieve contents created by the current user")
     @GetMapping("/my")
-    public ResponseEntity<Page<ContentResponse>> getMyContents(
+    @QueryBudget(2)
+    public ResponseEntity<?> getMyContents(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
             @AuthenticationPrincipal User author) {
         Sort.Direction direction = Sort.Direction.fromString(sortDirection);
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<ContentResponse> contents = contentService.getContentsByAuthor(author, pageable);
-        return ResponseEntity.ok(contents);
+        if (ContentPage.isAccepted(accept)) {
+            return listResponse(contentService.getContentPageByAuthor(author, since, pageable));
+        }
+        Page<ContentResponse> contents = contentService.getContentsByAuthor(author, since, pageable);
+        return listResponse(contents);
     }
 
     @Operation(summary = "Get contents by status", description = "Retrieve contents by status")
     @GetMapping("/status/{status}")
-    public ResponseEntity<Page<ContentResponse>> getContentsByStatus(
+    @QueryBudget(2)
+    public ResponseEntity<?> getContentsByStatus(
             @PathVariable String status,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Sort.Direction direction = Sort.Direction.fromString(sortDirection);
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<ContentResponse> contents = contentService.getContentsByStatus(status, pageable);
-        return ResponseEntity.ok(contents);
+        if (ContentPage.isAccepted(accept)) {
+            return listResponse(contentService.getContentPageByStatus(status, since, pageable));
+        }
+        Page<ContentResponse> contents = contentService.getContentsByStatus(status, since, pageable);
+        return listResponse(contents);
     }
 
     @Operation(summary = "Search contents", description = "Search contents by title keyword")
     @GetMapping("/search")
-    public ResponseEntity<Page<ContentResponse>> searchContents(
+    @QueryBudget(2)
+    public ResponseEntity<?> searchContents(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         Sort.Direction direction = Sort.Direction.fromString(sortDirection);
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<ContentResponse> contents = contentService.searchContentsByTitle(keyword, pageable);
-        return ResponseEntity.ok(contents);
+        if (ContentPage.isAccepted(accept)) {
+            return listResponse(contentService.searchContentPageByTitle(keyword, since, pageable));
+        }
+        Page<ContentResponse> contents = contentService.searchContentsByTitle(keyword, since, pageable);
+        return listResponse(contents);
+    }
+
+    @Operation(summary = "Filter contents",
+            description = "Filter contents by any combination of author, status and tags, newest first")
+    @GetMapping("/filter")
+    @QueryBudget(1)
+    public ResponseEntity<?> filterContents(
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Page<ContentResponse> contents = contentService.filterContents(
+                    authorId, status, tags, PageRequest.of(page, size));
+            return ResponseEntity.ok(contents);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Get content statistics",
+            description = "Retrieve content counts in total, per status and for the current user")
+    @GetMapping("/stats")
+    @QueryBudget(3)
+    public ResponseEntity<ContentStatsResponse> getContentStats(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(contentService.getContentStats(user));
+    }
+
+    private ResponseEntity<?> batchResponse(List<Long> ids) {
+        if (ids.size() > batchMaxIds) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: At most " + batchMaxIds + " ids can be requested at once"));
+        }
+        return ResponseEntity.ok(contentService.getContentsByIds(ids));
+    }
+
+    // The body depends on Accept (JSON page or compact ContentPage), so caches must key on it
+    private static ResponseEntity<?> listResponse(Object body) {
+        return ResponseEntity.ok().header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(body);
+    }
+
+    // Pinned so negotiation cannot hand the entities to a generic JSON, CBOR or Smile converter
+    private static ResponseEntity<?> listResponse(ContentPage body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .contentType(ContentPage.MEDIA_TYPE)
+                .body(body);
+    }
+
+    /**
+     * Find the binary format an Accept header explicitly asks for.
+     *
+     * @param accept the Accept header, may be null
+     * @return CBOR or Smile, whichever is listed with the highest quality, or null if neither is
+     *         listed; wildcards do not count
+     */
+    private static MediaType acceptedBinaryType(String accept) {
+        if (accept == null) {
+            return null;
+        }
+        MediaType best = null;
+        double bestQuality = 0;
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                MediaType binaryType = mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)
+                        ? MediaType.APPLICATION_CBOR
+                        : mediaType.equalsTypeAndSubtype(APPLICATION_SMILE) ? APPLICATION_SMILE : null;
+                if (binaryType != null && mediaType.getQualityValue() > bestQuality) {
+                    best = binaryType;
+                    bestQuality = mediaType.getQualityValue();
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        return best;
+    }
+
+    private static ResponseEntity<?> ifMatchRequired() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                .body(new MessageResponse("Error: If-Match header with the content ETag is required"));
+    }
+
+    private static ResponseEntity<?> concurrentModification() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(new MessageResponse("Error: Content was modified concurrently, reload and retry"));
+    }
+
+    private static String eTag(Long version) {
+        return CachedContentResponses.eTag(version, null);
+    }
+
+    /**
+     * Parse an If-Match header into the content versions it accepts.
+     *
+     * <p>If-Match uses the strong comparison, so weak tags never match; a list of tags matches
+     * when any of them does.
+     *
+     * @param ifMatch the header value, e.g. {@code "3"}, {@code "3-cbor", "4"} or {@code *}
+     * @return the accepted versions, empty when none can match, or null when absent or {@code *}
+     */
+    static List<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String part : ifMatch.split(",")) {
+            String tag = part.trim();
+            if (tag.startsWith("W/")) {
+                continue;
+            }
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                tag = tag.substring(1, tag.length() - 1);
+            }
+            // Tags of other representations than plain JSON carry a suffix after the version
+            int suffix = tag.indexOf('-');
+            if (suffix > 0) {
+                tag = tag.substring(0, suffix);
+            }
+            try {
+                versions.add(Long.parseLong(tag));
+            } catch (NumberFormatException e) {
+                // Never matches a real version
+            }
+        }
+        return versions;
     }
 }
@@ -0,0 +1,105 @@
+package com.webeditor.api.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.webeditor.api.dto.ContentPage;
+import com.webeditor.api.entity.Content;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes a {@link ContentPage} as {@value ContentPage#MEDIA_TYPE_VALUE} with a streaming
+ * generator.
+ *
+ * <p>Each row goes from the entity straight to the output buffer, with no
+ * {@code ContentResponse} per row, no list of them and no reflective bean serialization. The rows
+ * are written exactly as Jackson writes {@code ContentResponse}, including ISO timestamps.
+ */
+public class ContentPageHttpMessageConverter extends AbstractHttpMessageConverter<ContentPage> {
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Create a converter.
+     *
+     * @param jsonFactory factory of the application's ObjectMapper
+     */
+    public ContentPageHttpMessageConverter(JsonFactory jsonFactory) {
+        super(ContentPage.MEDIA_TYPE);
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ContentPage.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ContentPage readInternal(Class<? extends ContentPage> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ContentPage is a response-only format", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ContentPage page, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator json = jsonFactory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)) {
+            // The container closes the response stream
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeArrayFieldStart("content");
+            for (Content content : page.getContent()) {
+                writeRow(json, content);
+            }
+            json.writeEndArray();
+            json.writeNumberField("page", page.getPage());
+            json.writeNumberField("size", page.getSize());
+            json.writeNumberField("totalElements", page.getTotalElements());
+            json.writeNumberField("totalPages", page.getTotalPages());
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeRow(JsonGenerator json, Content content) throws IOException {
+        json.writeStartObject();
+        writeNumber(json, "id", content.getId());
+        json.writeStringField("title", content.getTitle());
+        json.writeStringField("body", content.getBody());
+        json.writeStringField("status", content.getStatus());
+        json.writeStringField("authorUsername", content.getAuthor().getUsername());
+        json.writeStringField("tags", content.getTags());
+        writeTimestamp(json, "createdAt", content.getCreatedAt());
+        writeTimestamp(json, "updatedAt", content.getUpdatedAt());
+        writeNumber(json, "version", content.getVersion());
+        json.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator json, String name, Long value) throws IOException {
+        json.writeFieldName(name);
+        if (value == null) {
+            json.writeNull();
+        } else {
+            json.writeNumber(value);
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator json, String name, LocalDateTime value) throws IOException {
+        json.writeFieldName(name);
+        if (value == null) {
+            json.writeNull();
+        } else {
+            json.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+}
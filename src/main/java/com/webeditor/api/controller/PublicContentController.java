@@ -0,0 +1,92 @@
+package com.webeditor.api.controller;
+
+import com.webeditor.api.cache.LoadedContent;
+import com.webeditor.api.cache.PublishedContentCache;
+import com.webeditor.api.dto.MessageResponse;
+import com.webeditor.api.security.ShareLinkSigner;
+import com.webeditor.api.service.ContentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * REST controller for anonymous reads through signed share links.
+ *
+ * <p>This route is excluded from the Spring Security filter chain and the JWT filter: the link
+ * signature is the only credential and is checked in memory, so no user is ever loaded.
+ */
+@Tag(name = "Public", description = "Signed share link APIs")
+@RestController
+@RequestMapping("/public/contents")
+public class PublicContentController {
+
+    @Autowired
+    private ShareLinkSigner shareLinkSigner;
+
+    @Autowired
+    private PublishedContentCache publishedContentCache;
+
+    @Autowired
+    private ContentService contentService;
+
+    @Value("${app.share.cache-max-age:5m}")
+    private Duration cacheMaxAge;
+
+    @Operation(summary = "Get shared content", description = "Retrieve a published content item through a share link")
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getSharedContent(
+            @PathVariable Long id,
+            @RequestParam long exp,
+            @RequestParam String sig,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (!shareLinkSigner.verify(id, exp, sig)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .cacheControl(CacheControl.noStore())
+                    .body(new MessageResponse("Error: Invalid or expired share link"));
+        }
+
+        // Shared caches may keep the response until the link expires, bounded so edits show up
+        long remaining = exp - Instant.now().getEpochSecond();
+        CacheControl cacheControl = CacheControl.maxAge(
+                Duration.ofSeconds(Math.max(0, Math.min(remaining, cacheMaxAge.toSeconds())))).cachePublic();
+
+        PublishedContentCache.CachedContent cached = publishedContentCache.get(id);
+        if (cached != null) {
+            return CachedContentResponses.ok(cached, acceptEncoding, cacheControl.getHeaderValue());
+        }
+
+        LoadedContent loaded;
+        try {
+            // Fills the cache when it loads a published content from the database
+            loaded = contentService.loadContentById(id);
+        } catch (RuntimeException e) {
+            return notFound();
+        }
+        // Unpublishing a content revokes all of its links
+        if (!PublishedContentCache.PUBLISHED.equals(loaded.getResponse().getStatus())) {
+            return notFound();
+        }
+        // Published contents are always loaded with their serialized body
+        return CachedContentResponses.ok(loaded.getCached(), acceptEncoding, cacheControl.getHeaderValue());
+    }
+
+    private static ResponseEntity<?> notFound() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .cacheControl(CacheControl.noStore())
+                .body(new MessageResponse("Error: Shared content is not available"));
+    }
+}
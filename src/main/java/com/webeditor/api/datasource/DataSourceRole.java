@@ -0,0 +1,9 @@
+package com.webeditor.api.datasource;
+
+/**
+ * Target of a routed connection.
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,111 @@
+package com.webeditor.api.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * DataSource sending read-only transactions to a replica and everything else to the primary.
+ *
+ * <p>Must be wrapped in a {@code LazyConnectionDataSourceProxy} so the connection is only
+ * fetched once the transaction's read-only flag is known. Reads fall back to the primary when
+ * the replica cannot hand out a connection, and a user's reads stay on the primary for a short
+ * window after their own write so they always see it.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long replicaRetryNanos;
+    private volatile long replicaRetryAt;
+    private volatile boolean replicaDown;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReadYourWritesTracker readYourWritesTracker, Duration replicaRetryAfter) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicaRetryNanos = replicaRetryAfter.toNanos();
+        setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (username != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWritesTracker.recordWrite(username);
+            }
+            return DataSourceRole.PRIMARY;
+        }
+        if (username != null && readYourWritesTracker.isSticky(username)) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routeToReplica()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaDown = false;
+                return connection;
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (routeToReplica()) {
+            try {
+                Connection connection = replica.getConnection(username, password);
+                replicaDown = false;
+                return connection;
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    private boolean routeToReplica() {
+        if (determineCurrentLookupKey() != DataSourceRole.REPLICA) {
+            return false;
+        }
+        return !replicaDown || System.nanoTime() - replicaRetryAt >= 0;
+    }
+
+    private void markReplicaDown(SQLException e) {
+        replicaRetryAt = System.nanoTime() + replicaRetryNanos;
+        replicaDown = true;
+        log.warn("Replica unavailable, routing reads to the primary: {}", e.getMessage());
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
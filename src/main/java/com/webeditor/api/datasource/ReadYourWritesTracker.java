@@ -0,0 +1,52 @@
+package com.webeditor.api.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers users who wrote recently so their reads stay on the primary until the
+ * replica has had time to catch up.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    private final ConcurrentMap<String, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Record a write by the given user.
+     *
+     * @param username the user who is writing
+     */
+    public void recordWrite(String username) {
+        long now = System.nanoTime();
+        stickyUntil.put(username, now + windowNanos);
+        if (stickyUntil.size() > CLEANUP_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    /**
+     * Check whether the user wrote within the stickiness window.
+     *
+     * @param username the user who is reading
+     * @return true if reads must go to the primary
+     */
+    public boolean isSticky(String username) {
+        Long until = stickyUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(username, until);
+        return false;
+    }
+}
@@ -0,0 +1,21 @@
+package com.webeditor.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for fetching several contents by id in one request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentBatchRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    private List<@NotNull Long> ids;
+}
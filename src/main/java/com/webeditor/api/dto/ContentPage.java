@@ -0,0 +1,70 @@
+package com.webeditor.api.dto;
+
+import com.webeditor.api.entity.Content;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * A page of contents in the compact list envelope, served for {@value #MEDIA_TYPE_VALUE}.
+ *
+ * <p>Holds the entities themselves, with their authors fetched, instead of {@code ContentResponse}
+ * copies: {@code ContentPageHttpMessageConverter} writes each row straight from the entity to the
+ * response. The envelope carries only {@code page}, {@code size}, {@code totalElements} and
+ * {@code totalPages} instead of Spring's {@code pageable} and {@code sort} metadata. Rows have the
+ * same fields as {@code ContentResponse}.
+ */
+@Getter
+@AllArgsConstructor
+public class ContentPage {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.webeditor.page+json";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private final List<Content> content;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+
+    /**
+     * Wrap a page of entities.
+     *
+     * @param page the page, with authors fetched
+     * @return the compact page
+     */
+    public static ContentPage of(Page<Content> page) {
+        return new ContentPage(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements());
+    }
+
+    /**
+     * Get the number of pages.
+     *
+     * @return total pages
+     */
+    public int getTotalPages() {
+        return size == 0 ? 1 : (int) Math.ceil((double) totalElements / size);
+    }
+
+    /**
+     * Check whether an Accept header explicitly asks for the compact envelope.
+     *
+     * @param accept the Accept header, may be null
+     * @return true if the compact media type is listed; wildcards do not count
+     */
+    public static boolean isAccepted(String accept) {
+        if (accept == null || !accept.contains(MEDIA_TYPE.getSubtype())) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(MEDIA_TYPE)
+                            && mediaType.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
@@ -25,6 +25,7 @@ public class ContentResponse {
     private String tags;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     public static ContentResponse fromEntity(Content content) {
         return ContentResponse.builder()
@@ -36,6 +37,7 @@ public class ContentResponse {
                 .tags(content.getTags())
                 .createdAt(content.getCreatedAt())
                 .updatedAt(content.getUpdatedAt())
+                .version(content.getVersion())
                 .build();
     }
 }
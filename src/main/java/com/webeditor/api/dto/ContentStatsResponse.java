@@ -0,0 +1,20 @@
+package com.webeditor.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for content statistics response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentStatsResponse {
+
+    private long total;
+    private Map<String, Long> byStatus;
+    private long mine;
+}
@@ -0,0 +1,17 @@
+package com.webeditor.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the view count of a content item, in total or within the trending window.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentViewsResponse {
+
+    private Long contentId;
+    private long views;
+}
@@ -0,0 +1,19 @@
+package com.webeditor.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for a public share link to a published content.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShareLinkResponse {
+
+    private String url;
+    private Instant expiresAt;
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -59,4 +60,11 @@ public class Content {
 
     @Column
     private String tags;
+
+    /**
+     * Optimistic lock version, incremented by Hibernate on every update and exposed as the ETag.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
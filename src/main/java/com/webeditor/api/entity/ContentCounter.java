@@ -0,0 +1,67 @@
+package com.webeditor.api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Materialized content count for one scope, e.g. all contents, one author or one status.
+ *
+ * <p>A count written by most transactions may be split over {@link #STRIPES} rows, its stripes,
+ * so that concurrent writers rarely wait on the same row lock. The stripe is a column of its own
+ * rather than part of the name, so any status can be counted. The count is the sum of its rows;
+ * corrections and unstriped counts go to stripe 0.
+ */
+@Entity
+@Table(name = "content_counters")
+@IdClass(ContentCounter.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentCounter {
+
+    public static final String TOTAL = "total";
+    public static final String AUTHOR_PREFIX = "author:";
+    public static final String STATUS_PREFIX = "status:";
+    public static final int STRIPES = 8;
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Id
+    private int stripe;
+
+    @Column(nullable = false)
+    private long total;
+
+    public static String author(Long authorId) {
+        return AUTHOR_PREFIX + authorId;
+    }
+
+    public static String status(String status) {
+        return STATUS_PREFIX + status;
+    }
+
+    /**
+     * Primary key of a counter row.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private String name;
+        private int stripe;
+    }
+}
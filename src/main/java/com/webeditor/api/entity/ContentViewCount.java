@@ -0,0 +1,29 @@
+package com.webeditor.api.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Persisted number of views of one content item.
+ */
+@Entity
+@Table(name = "content_views")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentViewCount {
+
+    @Id
+    @Column(name = "content_id")
+    private Long contentId;
+
+    @Column(nullable = false)
+    private long views;
+}
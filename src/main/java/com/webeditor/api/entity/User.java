@@ -1,5 +1,6 @@
 package com.webeditor.api.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -37,6 +38,8 @@ public class User implements UserDetails {
     @Column(unique = true, nullable = false)
     private String username;
 
+    // Never serialized, even if an entity reaches a JSON converter
+    @JsonIgnore
     @Column(nullable = false)
     private String password;
 
@@ -0,0 +1,30 @@
+package com.webeditor.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Application event published by ContentService for every content write.
+ *
+ * <p>{@code previous} is null for a creation and {@code current} is null for a deletion,
+ * so listeners can maintain derived state incrementally.
+ */
+@Getter
+@AllArgsConstructor
+public class ContentChangedEvent {
+
+    private final ContentSnapshot previous;
+    private final ContentSnapshot current;
+
+    public Long getContentId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+
+    public boolean isCreation() {
+        return previous == null;
+    }
+
+    public boolean isDeletion() {
+        return current == null;
+    }
+}
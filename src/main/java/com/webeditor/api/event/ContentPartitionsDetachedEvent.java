@@ -0,0 +1,20 @@
+package com.webeditor.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Application event published by ContentPartitionMaintenance after partitions of
+ * {@code contents} were detached.
+ *
+ * <p>Detaching removes whole months of contents without a {@link ContentChangedEvent} per row,
+ * so listeners drop or rebuild everything derived from contents instead.
+ */
+@Getter
+@AllArgsConstructor
+public class ContentPartitionsDetachedEvent {
+
+    private final List<String> partitions;
+}
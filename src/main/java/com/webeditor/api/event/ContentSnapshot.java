@@ -0,0 +1,26 @@
+package com.webeditor.api.event;
+
+import com.webeditor.api.entity.Content;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable copy of the indexed attributes of a content item at a point in time.
+ */
+@Getter
+@AllArgsConstructor
+public class ContentSnapshot {
+
+    private final Long id;
+    private final Long authorId;
+    private final String status;
+    private final String tags;
+
+    public static ContentSnapshot of(Content content) {
+        return new ContentSnapshot(
+                content.getId(),
+                content.getAuthor().getId(),
+                content.getStatus(),
+                content.getTags());
+    }
+}
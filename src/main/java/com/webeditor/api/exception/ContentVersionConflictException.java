@@ -0,0 +1,28 @@
+package com.webeditor.api.exception;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown when a content write is based on a version other than the current one.
+ */
+@Getter
+public class ContentVersionConflictException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public ContentVersionConflictException(Long id, Collection<Long> expectedVersions, Long currentVersion) {
+        super("Content " + id + " has been modified: expected " + describe(expectedVersions)
+                + " but the current version is " + currentVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    private static String describe(Collection<Long> expectedVersions) {
+        if (expectedVersions.isEmpty()) {
+            return "a strong entity tag";
+        }
+        return "version " + expectedVersions.stream().map(String::valueOf).collect(Collectors.joining(" or "));
+    }
+}
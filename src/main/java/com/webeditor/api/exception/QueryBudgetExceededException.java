@@ -0,0 +1,11 @@
+package com.webeditor.api.exception;
+
+/**
+ * Thrown when a request issues more SQL statements than its declared query budget allows.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
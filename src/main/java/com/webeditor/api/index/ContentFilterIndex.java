@@ -0,0 +1,287 @@
+package com.webeditor.api.index;
+
+import com.webeditor.api.event.ContentChangedEvent;
+import com.webeditor.api.event.ContentPartitionsDetachedEvent;
+import com.webeditor.api.event.ContentSnapshot;
+import com.webeditor.api.repository.ContentIndexEntry;
+import com.webeditor.api.repository.ContentRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory secondary index of content ids per author, status and tag.
+ *
+ * <p>Each attribute value maps to a compressed bitmap of content ids, so any combination of
+ * filters is answered by intersecting bitmaps and the exact count is the cardinality of the
+ * result. The index is built from the database on startup and then maintained from
+ * {@link ContentChangedEvent}s after each write commits.
+ */
+@Component
+public class ContentFilterIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentFilterIndex.class);
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<ContentChangedEvent> pendingEvents = new ArrayList<>();
+
+    private Roaring64NavigableMap all = newBitmap();
+    private Map<Long, Roaring64NavigableMap> byAuthor = new HashMap<>();
+    private Map<String, Roaring64NavigableMap> byStatus = new HashMap<>();
+    private Map<String, Roaring64NavigableMap> byTag = new HashMap<>();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * Rebuild the index from the database.
+     *
+     * <p>Writes committed while the table is being read are replayed on top of the loaded
+     * state; applying an event is idempotent, so replaying one already seen by the scan is safe.
+     * The scan is deliberately not read-only so it is never routed to a lagging replica. Also
+     * rebuilt after partitions were detached, which removes contents without events.
+     */
+    @EventListener({ApplicationReadyEvent.class, ContentPartitionsDetachedEvent.class})
+    @Transactional
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            pendingEvents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Roaring64NavigableMap newAll = newBitmap();
+        Map<Long, Roaring64NavigableMap> newByAuthor = new HashMap<>();
+        Map<String, Roaring64NavigableMap> newByStatus = new HashMap<>();
+        Map<String, Roaring64NavigableMap> newByTag = new HashMap<>();
+        long count = 0;
+
+        try (Stream<ContentIndexEntry> entries = contentRepository.streamIndexEntries()) {
+            for (ContentIndexEntry entry : (Iterable<ContentIndexEntry>) entries::iterator) {
+                long id = entry.getId();
+                newAll.addLong(id);
+                bitmap(newByAuthor, entry.getAuthorId()).addLong(id);
+                bitmap(newByStatus, entry.getStatus()).addLong(id);
+                for (String tag : splitTags(entry.getTags())) {
+                    bitmap(newByTag, tag).addLong(id);
+                }
+                count++;
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            all = newAll;
+            byAuthor = newByAuthor;
+            byStatus = newByStatus;
+            byTag = newByTag;
+            for (ContentChangedEvent event : pendingEvents) {
+                apply(event);
+            }
+            pendingEvents.clear();
+            optimize();
+            rebuilding = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Content filter index built with {} entries", count);
+    }
+
+    /**
+     * Apply a committed content write to the index.
+     *
+     * @param event the content change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event);
+            if (rebuilding) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the initial build has completed and queries reflect the database.
+     *
+     * @return true once the index is usable
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Find the ids matching every given filter, newest first.
+     *
+     * @param authorId the author id, or null for any author
+     * @param status   the status, or null for any status
+     * @param tags     tags that must all be present, or null/empty for no tag filter
+     * @param offset   number of matching ids to skip
+     * @param limit    maximum number of ids to return
+     * @return the requested slice of ids and the total number of matches
+     */
+    public FilterResult query(Long authorId, String status, Collection<String> tags, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Roaring64NavigableMap> operands = new ArrayList<>();
+            if (authorId != null) {
+                operands.add(byAuthor.get(authorId));
+            }
+            if (status != null) {
+                operands.add(byStatus.get(status));
+            }
+            if (tags != null) {
+                for (String tag : normalizeTags(tags)) {
+                    operands.add(byTag.get(tag));
+                }
+            }
+            if (operands.contains(null)) {
+                return new FilterResult(Collections.emptyList(), 0);
+            }
+
+            Roaring64NavigableMap matches;
+            if (operands.isEmpty()) {
+                matches = all;
+            } else {
+                operands.sort((a, b) -> Long.compare(a.getLongCardinality(), b.getLongCardinality()));
+                matches = newBitmap();
+                matches.or(operands.get(0));
+                for (int i = 1; i < operands.size() && !matches.isEmpty(); i++) {
+                    matches.and(operands.get(i));
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(Math.max(0, limit));
+            LongIterator iterator = matches.getReverseLongIterator();
+            long skipped = 0;
+            while (iterator.hasNext() && ids.size() < limit) {
+                long id = iterator.next();
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    ids.add(id);
+                }
+            }
+            return new FilterResult(ids, matches.getLongCardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(ContentChangedEvent event) {
+        ContentSnapshot previous = event.getPrevious();
+        if (previous != null) {
+            long id = previous.getId();
+            all.removeLong(id);
+            remove(byAuthor, previous.getAuthorId(), id);
+            remove(byStatus, previous.getStatus(), id);
+            for (String tag : splitTags(previous.getTags())) {
+                remove(byTag, tag, id);
+            }
+        }
+        ContentSnapshot current = event.getCurrent();
+        if (current != null) {
+            long id = current.getId();
+            all.addLong(id);
+            bitmap(byAuthor, current.getAuthorId()).addLong(id);
+            bitmap(byStatus, current.getStatus()).addLong(id);
+            for (String tag : splitTags(current.getTags())) {
+                bitmap(byTag, tag).addLong(id);
+            }
+        }
+    }
+
+    private void optimize() {
+        all.runOptimize();
+        byAuthor.values().forEach(Roaring64NavigableMap::runOptimize);
+        byStatus.values().forEach(Roaring64NavigableMap::runOptimize);
+        byTag.values().forEach(Roaring64NavigableMap::runOptimize);
+    }
+
+    // Cardinality caching mutates the bitmap on reads, which is unsafe under a shared read lock
+    private static Roaring64NavigableMap newBitmap() {
+        return new Roaring64NavigableMap(false, false);
+    }
+
+    private static <K> Roaring64NavigableMap bitmap(Map<K, Roaring64NavigableMap> bitmaps, K key) {
+        return bitmaps.computeIfAbsent(key, k -> newBitmap());
+    }
+
+    private static <K> void remove(Map<K, Roaring64NavigableMap> bitmaps, K key, long id) {
+        Roaring64NavigableMap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.removeLong(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    static Set<String> splitTags(String tags) {
+        if (tags == null || tags.isBlank()) {
+            return Collections.emptySet();
+        }
+        return normalizeTags(List.of(tags.split(",")));
+    }
+
+    private static Set<String> normalizeTags(Collection<String> tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String tag : tags) {
+            String trimmed = tag.trim();
+            if (!trimmed.isEmpty()) {
+                normalized.add(trimmed.toLowerCase(Locale.ROOT));
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * A page of matching ids together with the exact match count.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class FilterResult {
+
+        private final List<Long> ids;
+        private final long total;
+    }
+}
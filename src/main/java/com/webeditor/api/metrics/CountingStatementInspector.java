@@ -0,0 +1,51 @@
+package com.webeditor.api.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts every SQL statement Hibernate prepares towards the current request, and records its
+ * shape while a {@link QueryBudget} is being checked.
+ *
+ * <p>Registered with {@code hibernate.session_factory.statement_inspector}; returns the SQL as is.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        RequestProfile.statementPrepared(sql);
+        List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Run an action and collect the SQL of every statement Hibernate prepares for it on the
+     * current thread, e.g. to explain the statements a repository method really issues.
+     *
+     * @param action the action, typically one repository call
+     * @return the statements in the order they were prepared, with {@code ?} placeholders
+     */
+    public static List<String> capture(Runnable action) {
+        List<String> outer = CAPTURED.get();
+        List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            action.run();
+        } finally {
+            if (outer != null) {
+                outer.addAll(captured);
+                CAPTURED.set(outer);
+            } else {
+                CAPTURED.remove();
+            }
+        }
+        return captured;
+    }
+}
@@ -0,0 +1,20 @@
+package com.webeditor.api.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Marks the end of the filter chain in the request profile, i.e. when the handler is reached.
+ */
+public class ProfilingHandlerInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.handlerStarted();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.webeditor.api.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how many SQL statements a controller method may issue.
+ *
+ * <p>Checked by {@link QueryBudgetAspect}. Besides the total, each statement shape may only
+ * repeat {@link #maxRepeats()} times: the same query issued once per row of a result is the
+ * signature of an N+1 lazy load.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /**
+     * Maximum number of statements.
+     *
+     * @return the statement budget
+     */
+    int value();
+
+    /**
+     * Maximum number of times one statement shape may be prepared.
+     *
+     * @return the repeat budget
+     */
+    int maxRepeats() default 1;
+}
@@ -0,0 +1,92 @@
+package com.webeditor.api.metrics;
+
+import com.webeditor.api.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Checks {@link QueryBudget} declarations against the statements a method actually issued.
+ *
+ * <p>With {@code app.query-budget.mode=FAIL}, as in the test profile, an exceeded budget throws
+ * {@link QueryBudgetExceededException} before the response is written, so N+1 regressions fail
+ * the build. With {@code LOG}, the default, every violation is counted in
+ * {@code webeditor.query.budget.exceeded} and a sampled fraction is logged as a warning.
+ */
+@Aspect
+@Component
+public class QueryBudgetAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetAspect.class);
+
+    /**
+     * What to do when a budget is exceeded.
+     */
+    public enum Mode {
+        OFF, LOG, FAIL
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.query-budget.mode:LOG}")
+    private Mode mode;
+
+    @Value("${app.query-budget.log-sample-rate:0.1}")
+    private double logSampleRate;
+
+    @Around("@annotation(budget)")
+    public Object checkBudget(ProceedingJoinPoint joinPoint, QueryBudget budget) throws Throwable {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null || mode == Mode.OFF) {
+            return joinPoint.proceed();
+        }
+        profile.startQueryTracking();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            profile.stopQueryTracking();
+            throw e;
+        }
+        check(joinPoint.getSignature().toShortString(), budget, profile.stopQueryTracking());
+        return result;
+    }
+
+    private void check(String method, QueryBudget budget, Map<String, Integer> shapes) {
+        int statements = 0;
+        Map.Entry<String, Integer> mostRepeated = null;
+        for (Map.Entry<String, Integer> shape : shapes.entrySet()) {
+            statements += shape.getValue();
+            if (mostRepeated == null || shape.getValue() > mostRepeated.getValue()) {
+                mostRepeated = shape;
+            }
+        }
+        boolean overBudget = statements > budget.value();
+        boolean repeated = mostRepeated != null && mostRepeated.getValue() > budget.maxRepeats();
+        if (!overBudget && !repeated) {
+            return;
+        }
+
+        String message = String.format("%s issued %d SQL statements (budget %d); most repeated %dx (budget %d): %s",
+                method, statements, budget.value(), mostRepeated.getValue(), budget.maxRepeats(),
+                mostRepeated.getKey());
+        if (mode == Mode.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+        meterRegistry.counter("webeditor.query.budget.exceeded", "method", method,
+                "reason", repeated ? "repeated" : "total").increment();
+        if (ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            log.warn("Query budget exceeded, possible N+1: {}", message);
+        }
+    }
+}
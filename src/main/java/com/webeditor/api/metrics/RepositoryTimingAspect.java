@@ -0,0 +1,29 @@
+package com.webeditor.api.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes the time spent in Spring Data repository calls to the {@code db} phase of the
+ * current request.
+ */
+@Aspect
+@Component
+public class RepositoryTimingAspect {
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            profile.repositoryCalled(System.nanoTime() - start);
+        }
+    }
+}
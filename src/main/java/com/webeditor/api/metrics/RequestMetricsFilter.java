@@ -0,0 +1,114 @@
+package com.webeditor.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Profiles each request and records how many SQL statements and entity loads it caused.
+ *
+ * <p>Runs ahead of the security chain so authentication is included. A sampled fraction of
+ * requests, and every request slower than {@code app.profiling.slow-threshold}, is written to
+ * the {@code request.profile} logger as one line of {@code key=value} fields. The sampling
+ * decision is taken up front, so {@link ServerTimingAdvice} can follow it.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 20)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger traceLog = LoggerFactory.getLogger("request.profile");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.profiling.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${app.profiling.slow-threshold:1s}")
+    private Duration slowThreshold;
+
+    // Registered once per endpoint rather than looked up by name and tags on every request
+    private final Map<String, EndpointSummaries> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestProfile profile = RequestProfile.begin();
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            profile.sample();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestProfile.end();
+            long end = System.nanoTime();
+            profile.finished(end);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            EndpointSummaries endpoint = summaries(request.getMethod(), uri);
+            endpoint.statements.record(profile.getStatements());
+            endpoint.entityLoads.record(profile.getEntityLoads());
+            trace(request, response, uri, profile, end);
+        }
+    }
+
+    private void trace(HttpServletRequest request, HttpServletResponse response, String uri, RequestProfile profile,
+                       long end) {
+        boolean slow = profile.getElapsedNanos() >= slowThreshold.toNanos();
+        if (!slow && !profile.isSampled()) {
+            return;
+        }
+        if (traceLog.isInfoEnabled()) {
+            traceLog.info("method={} uri=\"{}\" path=\"{}\" status={} slow={} {}", request.getMethod(), uri,
+                    request.getRequestURI(), response.getStatus(), slow, profile.traceFields(end));
+        }
+    }
+
+    private EndpointSummaries summaries(String method, String uri) {
+        String key = method + ' ' + uri;
+        EndpointSummaries endpoint = summaries.get(key);
+        if (endpoint == null) {
+            endpoint = summaries.computeIfAbsent(key, k -> new EndpointSummaries(
+                    summary("webeditor.request.statements", method, uri),
+                    summary("webeditor.request.entity.loads", method, uri)));
+        }
+        return endpoint;
+    }
+
+    private DistributionSummary summary(String name, String method, String uri) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+
+    private static final class EndpointSummaries {
+
+        private final DistributionSummary statements;
+        private final DistributionSummary entityLoads;
+
+        private EndpointSummaries(DistributionSummary statements, DistributionSummary entityLoads) {
+            this.statements = statements;
+            this.entityLoads = entityLoads;
+        }
+    }
+}
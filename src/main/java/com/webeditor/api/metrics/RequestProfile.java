@@ -0,0 +1,264 @@
+package com.webeditor.api.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Where the time of the current request went, kept in a thread local.
+ *
+ * <p>Started and ended by {@link RequestMetricsFilter}. Instrumented code brackets a phase with
+ * {@link #start()} and {@link #stop}; statements and entity loads are counted by
+ * {@link CountingStatementInspector} and {@link EntityLoadCountingIntegrator}. Outside a request
+ * every call is a thread-local read and nothing more. Work done on other threads, such as
+ * background cache refreshes, is not attributed to the request.
+ */
+public final class RequestProfile {
+
+    /**
+     * A phase of request handling. Phases may overlap, e.g. the principal lookup is both
+     * {@link #AUTH} and {@link #DB}.
+     */
+    public enum Phase {
+        /**
+         * JWT verification and principal lookup.
+         */
+        AUTH("auth"),
+        /**
+         * Repository calls.
+         */
+        DB("db"),
+        /**
+         * Entity to DTO mapping.
+         */
+        MAPPING("map"),
+        /**
+         * Response body serialization and writing.
+         */
+        SERIALIZATION("ser");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long handlerStartNanos;
+    private long bodyWriteNanos;
+    private int repositoryCalls;
+    private int statements;
+    private int entityLoads;
+    private Map<String, Integer> trackedShapes;
+    private boolean sampled;
+
+    private RequestProfile() {
+    }
+
+    /**
+     * Start profiling the request on the current thread.
+     *
+     * @return the profile of the request
+     */
+    public static RequestProfile begin() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * Stop profiling on the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Get the profile of the request on the current thread.
+     *
+     * @return the profile, or null outside a request
+     */
+    public static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start timing a phase.
+     *
+     * @return the start time to pass to {@link #stop}, or 0 outside a request
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Add the time since {@code startNanos} to a phase of the current request.
+     *
+     * @param phase      the phase
+     * @param startNanos the value returned by {@link #start()}
+     */
+    public static void stop(Phase phase, long startNanos) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null && startNanos != 0L) {
+            profile.phaseNanos[phase.ordinal()] += System.nanoTime() - startNanos;
+        }
+    }
+
+    static void statementPrepared(String sql) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.statements++;
+            if (profile.trackedShapes != null) {
+                // Hibernate binds every value as a parameter, so the SQL text is the query shape
+                profile.trackedShapes.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    static void entityLoaded() {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.entityLoads++;
+        }
+    }
+
+    void repositoryCalled(long nanos) {
+        repositoryCalls++;
+        phaseNanos[Phase.DB.ordinal()] += nanos;
+    }
+
+    /**
+     * Start recording the shape of every statement, for a query budget check.
+     */
+    void startQueryTracking() {
+        trackedShapes = new HashMap<>();
+    }
+
+    /**
+     * Stop recording statement shapes.
+     *
+     * @return how often each statement shape was prepared since tracking started
+     */
+    Map<String, Integer> stopQueryTracking() {
+        Map<String, Integer> shapes = trackedShapes;
+        trackedShapes = null;
+        return shapes != null ? shapes : Map.of();
+    }
+
+    /**
+     * Mark the request as sampled: its profile is logged and, if enabled, sent as a header.
+     */
+    void sample() {
+        sampled = true;
+    }
+
+    void handlerStarted() {
+        handlerStartNanos = System.nanoTime();
+    }
+
+    void bodyWriteStarted() {
+        if (bodyWriteNanos == 0L) {
+            bodyWriteNanos = System.nanoTime();
+        }
+    }
+
+    void finished(long endNanos) {
+        if (bodyWriteNanos != 0L) {
+            phaseNanos[Phase.SERIALIZATION.ordinal()] = endNanos - bodyWriteNanos;
+        }
+    }
+
+    /**
+     * Render the phases measured so far as a {@code Server-Timing} header value.
+     *
+     * @return the header value
+     */
+    String serverTiming() {
+        long now = System.nanoTime();
+        StringBuilder header = new StringBuilder(128);
+        if (handlerStartNanos != 0L) {
+            appendTiming(header, "chain", handlerStartNanos - startNanos, null);
+        }
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (nanos == 0L) {
+                continue;
+            }
+            String description = phase == Phase.DB
+                    ? repositoryCalls + " calls, " + statements + " statements"
+                    : null;
+            appendTiming(header, phase.metricName, nanos, description);
+        }
+        appendTiming(header, "app", now - startNanos, null);
+        return header.toString();
+    }
+
+    /**
+     * Render the profile as {@code key=value} pairs for a trace log line.
+     *
+     * @param endNanos when the request completed
+     * @return the fields
+     */
+    String traceFields(long endNanos) {
+        StringBuilder fields = new StringBuilder(192);
+        appendMillis(fields.append("total_ms="), endNanos - startNanos);
+        if (handlerStartNanos != 0L) {
+            appendMillis(fields.append(" chain_ms="), handlerStartNanos - startNanos);
+        }
+        for (Phase phase : Phase.values()) {
+            appendMillis(fields.append(' ').append(phase.metricName).append("_ms="), phaseNanos[phase.ordinal()]);
+        }
+        fields.append(" repository_calls=").append(repositoryCalls)
+                .append(" statements=").append(statements)
+                .append(" entity_loads=").append(entityLoads);
+        return fields.toString();
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public int getRepositoryCalls() {
+        return repositoryCalls;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    private static void appendTiming(StringBuilder header, String name, long nanos, String description) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        appendMillis(header.append(name).append(";dur="), nanos);
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+
+    // Milliseconds with two decimals, rounded half up; cheaper than String.format on every response
+    static void appendMillis(StringBuilder target, long nanos) {
+        long hundredths = (Math.max(nanos, 0L) + 5_000L) / 10_000L;
+        long fraction = hundredths % 100;
+        target.append(hundredths / 100).append('.');
+        if (fraction < 10) {
+            target.append('0');
+        }
+        target.append(fraction);
+    }
+}
@@ -0,0 +1,57 @@
+package com.webeditor.api.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the request profile as a {@code Server-Timing} header just before the body is written.
+ *
+ * <p>Off unless {@code app.profiling.server-timing} is set, and then only sent on the sampled
+ * requests of authenticated users: the header exposes internal timings to the client, and
+ * varies per response. Share links under {@code /public/} bypass the security chain, so the
+ * responses CDNs cache never carry it. Headers are sent before the body, so serialization time
+ * cannot be part of the header; it is measured from this point on and appears in the trace log
+ * instead.
+ */
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    @Value("${app.profiling.server-timing:false}")
+    private boolean serverTimingEnabled;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            if (serverTimingEnabled && profile.isSampled() && isAuthenticated()) {
+                response.getHeaders().add(SERVER_TIMING, profile.serverTiming());
+            }
+            profile.bodyWriteStarted();
+        }
+        return body;
+    }
+
+    private static boolean isAuthenticated() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+}
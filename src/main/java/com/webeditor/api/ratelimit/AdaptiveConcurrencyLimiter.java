@@ -0,0 +1,188 @@
+package com.webeditor.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to measured latency, after the gradient algorithm.
+ *
+ * <p>Completed requests are summed into a window of {@code windowSamples} samples; the average
+ * of a window is the short-term latency, and a long-term average is kept over the windows. While
+ * the short-term average stays close to the long-term one, the limit grows by about its square
+ * root per window; once queueing pushes latency up, the limit shrinks in proportion to
+ * {@code long / short}. Requests beyond the limit are rejected immediately instead of queueing
+ * in the server. Lower priorities may only use a share of the limit, so they are shed first.
+ *
+ * <p>Nothing blocks: a completion adds to striped sums, and only the completion that fills a
+ * window updates the limit, skipping it if another one is still doing so.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Request priority and the share of the limit it may use.
+     */
+    public enum Priority {
+        /**
+         * Writes.
+         */
+        CRITICAL(1.0),
+        /**
+         * Single-item and page reads.
+         */
+        INTERACTIVE(0.9),
+        /**
+         * Search, filters, batch reads and statistics.
+         */
+        BULK(0.5);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double longAlpha;
+    private final int windowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+
+    private final LongAdder windowLatencyNanos = new LongAdder();
+    private final LongAdder windowInFlight = new LongAdder();
+    private final AtomicInteger windowCount = new AtomicInteger();
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    // Only touched by the thread holding updating
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * Create a limiter.
+     *
+     * @param initialLimit  starting concurrency limit
+     * @param minLimit      lowest limit, kept even under heavy slowdown
+     * @param maxLimit      highest limit
+     * @param smoothing     weight of each new estimate, between 0 and 1
+     * @param tolerance     latency increase over the long-term average tolerated before shrinking
+     * @param longWindow    number of samples the long-term average spans
+     * @param windowSamples number of samples averaged into one short-term measurement
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                      double tolerance, int longWindow, int windowSamples) {
+        if (windowSamples <= 0) {
+            throw new IllegalArgumentException("A latency window needs at least 1 sample: " + windowSamples);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.longAlpha = 2.0 / ((double) longWindow / windowSamples + 1);
+        this.windowSamples = windowSamples;
+    }
+
+    /**
+     * Admit a request if its priority's share of the limit is not used up.
+     *
+     * @param priority the request priority
+     * @return the number of requests in flight once admitted, this one included, to pass to
+     *         {@link #release}; 0 if rejected
+     */
+    public int tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.increment();
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Complete an admitted request and feed its latency into the limit.
+     *
+     * @param latencyNanos    how long the request took
+     * @param inFlightAtStart the value returned by {@link #tryAcquire}
+     */
+    public void release(long latencyNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        // Sums first, count last: a sample racing with the window closing may have its sums in
+        // one window and its count in the next, which the averages over many samples absorb
+        windowLatencyNanos.add(latencyNanos);
+        windowInFlight.add(inFlightAtStart);
+        if (windowCount.incrementAndGet() >= windowSamples && updating.compareAndSet(false, true)) {
+            try {
+                closeWindow();
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    /**
+     * Get the current limit.
+     *
+     * @return maximum concurrent requests
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Get the number of admitted requests that have not completed.
+     *
+     * @return requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the number of requests rejected so far.
+     *
+     * @return rejected requests
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private void closeWindow() {
+        // Only the updating thread resets the count, so it can only have grown since this check
+        if (windowCount.get() < windowSamples) {
+            return;
+        }
+        int samples = windowCount.getAndSet(0);
+        double latency = (double) windowLatencyNanos.sumThenReset() / samples;
+        double averageInFlight = (double) windowInFlight.sumThenReset() / samples;
+        if (longRtt == 0) {
+            shortRtt = latency;
+            longRtt = latency;
+            return;
+        }
+        shortRtt = latency;
+        longRtt += (shortRtt - longRtt) * longAlpha;
+        // Latency has dropped well below the baseline: let the baseline catch up quickly
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // With few requests in flight, latency says nothing about the limit
+        if (averageInFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
@@ -0,0 +1,68 @@
+package com.webeditor.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webeditor.api.dto.MessageResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds content API requests beyond the adaptive concurrency limit with 503.
+ *
+ * <p>Registered ahead of the security chain, so a rejected request costs neither token parsing
+ * nor a user lookup. Writes have the highest priority, then single-item and page reads, then
+ * search, filters, batch reads and statistics.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Taken by the same compare-and-set that admits the request, so it is never skewed by
+        // requests admitted or completed in between
+        int inFlightAtStart = limiter.tryAcquire(priorityOf(request));
+        if (inFlightAtStart == 0) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new MessageResponse("Error: Server is busy, please retry"));
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start, inFlightAtStart);
+        }
+    }
+
+    static AdaptiveConcurrencyLimiter.Priority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.endsWith("/batch") || path.endsWith("/search") || path.endsWith("/filter")
+                || path.endsWith("/stats") || request.getParameter("ids") != null) {
+            return AdaptiveConcurrencyLimiter.Priority.BULK;
+        }
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            return AdaptiveConcurrencyLimiter.Priority.INTERACTIVE;
+        }
+        return AdaptiveConcurrencyLimiter.Priority.CRITICAL;
+    }
+}
@@ -0,0 +1,151 @@
+package com.webeditor.api.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webeditor.api.dto.MessageResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Enforces the token-bucket limits of {@code app.rate-limit} per endpoint group.
+ *
+ * <p>Runs in the security chain right after {@code JwtAuthenticationFilter}, so authenticated
+ * requests are limited per user and anonymous ones per client IP. Share links bypass the security
+ * chain, so for them it is registered as a servlet filter instead. Every limited response carries
+ * {@code RateLimit-Limit}, {@code RateLimit-Remaining}, {@code RateLimit-Reset} and
+ * {@code RateLimit-Policy}; rejected requests get 429 with {@code Retry-After}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private List<LimitedGroup> groups = List.of();
+
+    @PostConstruct
+    void init() {
+        List<LimitedGroup> limitedGroups = new ArrayList<>();
+        for (RateLimitProperties.Group group : properties.getGroups()) {
+            int burst = group.getBurst() > 0 ? group.getBurst() : group.getLimit();
+            Set<String> methods = group.getMethods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            String policy = group.getLimit() + ";w=" + group.getPeriod().toSeconds() + ";burst=" + burst;
+            limitedGroups.add(new LimitedGroup(List.copyOf(group.getPaths()), methods, policy,
+                    new TokenBucketLimiter(group.getLimit(), group.getPeriod(), burst, properties.getMaxKeys())));
+        }
+        groups = List.copyOf(limitedGroups);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        LimitedGroup group = match(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TokenBucketLimiter.Decision decision = group.limiter.tryAcquire(clientKey(request));
+        response.setHeader("RateLimit-Limit", String.valueOf(group.limiter.getLimit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(toSeconds(decision.getResetNanos())));
+        response.setHeader("RateLimit-Policy", group.policy);
+        if (decision.isAllowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        long retryAfter = Math.max(1, toSeconds(decision.getRetryAfterNanos()));
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new MessageResponse("Error: Too many requests"));
+    }
+
+    /**
+     * Forget clients whose buckets have refilled.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:60s}")
+    public void evictIdleClients() {
+        for (LimitedGroup group : groups) {
+            group.limiter.evictIdle();
+        }
+    }
+
+    private LimitedGroup match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (LimitedGroup group : groups) {
+            if (!group.methods.isEmpty() && !group.methods.contains(request.getMethod())) {
+                continue;
+            }
+            for (String pattern : group.paths) {
+                if (pathMatcher.match(pattern, path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        // Behind a proxy, set server.forward-headers-strategy so this is the real client address
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static final class LimitedGroup {
+
+        private final List<String> paths;
+        private final Set<String> methods;
+        private final String policy;
+        private final TokenBucketLimiter limiter;
+
+        private LimitedGroup(List<String> paths, Set<String> methods, String policy, TokenBucketLimiter limiter) {
+            this.paths = paths;
+            this.methods = methods;
+            this.policy = policy;
+            this.limiter = limiter;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.webeditor.api.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limits per endpoint group, bound from {@code app.rate-limit}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of clients tracked per group.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Groups in match order; a request is limited by the first group it matches, if any.
+     */
+    private List<Group> groups = new ArrayList<>();
+
+    /**
+     * An endpoint group with its own limit.
+     */
+    @Data
+    public static class Group {
+
+        private String name;
+
+        /**
+         * Ant-style path patterns, relative to the context path.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * HTTP methods to match; empty matches every method.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        private int limit;
+
+        private Duration period = Duration.ofMinutes(1);
+
+        /**
+         * Requests allowed at once after being idle; defaults to the limit.
+         */
+        private int burst;
+    }
+}
@@ -0,0 +1,155 @@
+package com.webeditor.api.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets for many keys, one atomic long per key.
+ *
+ * <p>Implements the generic cell rate algorithm, which behaves exactly like a token bucket of
+ * {@code burst} tokens refilled at {@code limit} per {@code period}, but stores only the time at
+ * which the bucket will be full again. Acquiring is a single compare-and-set, so concurrent
+ * requests never block each other. Keys whose bucket has refilled carry no state and are
+ * evicted; when {@code maxKeys} would still be exceeded, requests of new keys are allowed without
+ * being tracked. A shared overflow bucket would let whoever fills the table starve every new
+ * client, and the concurrency limit still sheds what the server cannot take.
+ */
+public class TokenBucketLimiter {
+
+    private final int limit;
+    private final int burst;
+    private final long emissionNanos;
+    private final long toleranceNanos;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private volatile long nextSweepNanos;
+
+    /**
+     * Create a limiter.
+     *
+     * @param limit   requests allowed per period on average
+     * @param period  the period
+     * @param burst   requests allowed at once after being idle
+     * @param maxKeys maximum number of tracked keys
+     */
+    public TokenBucketLimiter(int limit, Duration period, int burst, int maxKeys) {
+        if (limit <= 0 || burst <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive limit, period and burst");
+        }
+        this.limit = limit;
+        this.burst = burst;
+        this.emissionNanos = Math.max(1, period.toNanos() / limit);
+        this.toleranceNanos = emissionNanos * (burst - 1);
+        this.maxKeys = maxKeys;
+        this.nextSweepNanos = System.nanoTime();
+    }
+
+    /**
+     * Take one token from a key's bucket.
+     *
+     * @param key the client key
+     * @return whether the request is allowed, with the bucket state for response headers
+     */
+    public Decision tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    Decision tryAcquire(String key, long now) {
+        AtomicLong bucket = bucket(key, now);
+        if (bucket == null) {
+            // Untracked: as if the key had a full bucket of its own
+            return new Decision(true, burst - 1, emissionNanos, 0);
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            // Compared as a difference, as nanoTime values may overflow
+            long start = fullAt - now > 0 ? fullAt : now;
+            long backlog = start - now;
+            if (backlog > toleranceNanos) {
+                return new Decision(false, 0, backlog, backlog - toleranceNanos);
+            }
+            long next = start + emissionNanos;
+            if (bucket.compareAndSet(fullAt, next)) {
+                int remaining = (int) ((toleranceNanos - backlog) / emissionNanos);
+                return new Decision(true, remaining, next - now, 0);
+            }
+        }
+    }
+
+    /**
+     * Drop the buckets of keys that are full again, as they are equivalent to untracked keys.
+     */
+    public void evictIdle() {
+        evictIdle(System.nanoTime());
+    }
+
+    /**
+     * Get the number of tracked keys.
+     *
+     * @return number of buckets
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Get the configured rate.
+     *
+     * @return requests allowed per period on average
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    // Null when the table is full even after evicting idle keys
+    private AtomicLong bucket(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            // No bucket refills faster than one token per emission interval, so sweeping more
+            // often than that while the table is full would rescan it on every new key for nothing
+            if (now - nextSweepNanos >= 0) {
+                evictIdle(now);
+            }
+            if (buckets.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private void evictIdle(long now) {
+        // One sweeper at a time; everyone else carries on with the current map
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+            nextSweepNanos = now + emissionNanos;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Outcome of acquiring a token.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Decision {
+
+        private final boolean allowed;
+        private final int remaining;
+        private final long resetNanos;
+        private final long retryAfterNanos;
+    }
+}
@@ -0,0 +1,38 @@
+package com.webeditor.api.repository;
+
+import com.webeditor.api.entity.ContentCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for ContentCounter entity operations.
+ */
+@Repository
+public interface ContentCounterRepository extends JpaRepository<ContentCounter, ContentCounter.Key> {
+
+    /**
+     * Read the current value of a counter, summed over its stripes.
+     *
+     * <p>Queried as a scalar so the value comes from the database rather than a possibly
+     * stale managed entity after a native upsert.
+     *
+     * @param name the counter name
+     * @return the counter value, 0 if it does not exist
+     */
+    @Query("select coalesce(sum(c.total), 0L) from ContentCounter c where c.name = :name")
+    long sumTotal(@Param("name") String name);
+
+    /**
+     * Read all counters whose name starts with the given prefix, each summed over its stripes.
+     *
+     * @param prefix the counter name prefix
+     * @return rows of [name, total]
+     */
+    @Query("select c.name, sum(c.total) from ContentCounter c where c.name like concat(:prefix, '%')"
+            + " group by c.name")
+    List<Object[]> findTotalsByPrefix(@Param("prefix") String prefix);
+}
@@ -0,0 +1,15 @@
+package com.webeditor.api.repository;
+
+/**
+ * Projection of the content columns kept in the in-memory filter index.
+ */
+public interface ContentIndexEntry {
+
+    Long getId();
+
+    Long getAuthorId();
+
+    String getStatus();
+
+    String getTags();
+}
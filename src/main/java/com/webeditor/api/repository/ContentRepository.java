@@ -2,19 +2,41 @@ package com.webeditor.api.repository;
 
 import com.webeditor.api.entity.Content;
 import com.webeditor.api.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Content entity operations.
+ *
+ * <p>Every query whose results are mapped to {@code ContentResponse} fetches the author with
+ * the contents, as the mapping reads the author name.
  */
 @Repository
 public interface ContentRepository extends JpaRepository<Content, Long> {
 
+    /**
+     * Find a content by id, fetching its author in the same query.
+     *
+     * @param id the content id
+     * @return the content, if it exists
+     */
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Optional<Content> findById(Long id);
+
     /**
      * Find all contents by author.
      *
@@ -22,6 +44,7 @@ public interface ContentRepository extends JpaRepository<Content, Long> {
      * @param pageable pagination information
      * @return page of contents
      */
+    @EntityGraph(attributePaths = "author")
     Page<Content> findByAuthor(User author, Pageable pageable);
 
     /**
@@ -31,6 +54,7 @@ public interface ContentRepository extends JpaRepository<Content, Long> {
      * @param pageable pagination information
      * @return page of contents
      */
+    @EntityGraph(attributePaths = "author")
     Page<Content> findByStatus(String status, Pageable pageable);
 
     /**
@@ -41,6 +65,7 @@ public interface ContentRepository extends JpaRepository<Content, Long> {
      * @param pageable pagination information
      * @return page of contents
      */
+    @EntityGraph(attributePaths = "author")
     Page<Content> findByAuthorAndStatus(User author, String status, Pageable pageable);
 
     /**
@@ -50,6 +75,7 @@ public interface ContentRepository extends JpaRepository<Content, Long> {
      * @param pageable pagination information
      * @return page of contents
      */
+    @EntityGraph(attributePaths = "author")
     Page<Content> findByTitleContaining(String keyword, Pageable pageable);
 
     /**
@@ -59,4 +85,115 @@ public interface ContentRepository extends JpaRepository<Content, Long> {
      * @return count of contents
      */
     long countByAuthor(User author);
+
+    /**
+     * Find contents by ids, fetching their authors in the same query.
+     *
+     * @param ids the content ids
+     * @return contents found, in no particular order
+     */
+    @Query("select c from Content c join fetch c.author where c.id in :ids")
+    List<Content> findAllWithAuthorByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream the attributes of every content item needed by the filter index.
+     *
+     * @return stream of index entries; must be consumed inside a transaction
+     */
+    @Query("select c.id as id, c.author.id as authorId, c.status as status, c.tags as tags from Content c")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<ContentIndexEntry> streamIndexEntries();
+
+    /**
+     * Find one page of all contents without issuing a count query.
+     *
+     * @param pageable pagination information
+     * @return contents of the requested page
+     */
+    @EntityGraph(attributePaths = "author")
+    @Query("select c from Content c")
+    List<Content> findPageContent(Pageable pageable);
+
+    /**
+     * Find one page of contents by author without issuing a count query.
+     *
+     * @param author   the author
+     * @param pageable pagination information
+     * @return contents of the requested page
+     */
+    @EntityGraph(attributePaths = "author")
+    List<Content> findPageContentByAuthor(User author, Pageable pageable);
+
+    /**
+     * Find one page of contents by status without issuing a count query.
+     *
+     * @param status   the status
+     * @param pageable pagination information
+     * @return contents of the requested page
+     */
+    @EntityGraph(attributePaths = "author")
+    List<Content> findPageContentByStatus(String status, Pageable pageable);
+
+    /**
+     * Count contents grouped by author id.
+     *
+     * @return rows of [author id, count]
+     */
+    @Query("select c.author.id, count(c) from Content c group by c.author.id")
+    List<Object[]> countGroupedByAuthor();
+
+    /**
+     * Count contents grouped by status.
+     *
+     * @return rows of [status, count]
+     */
+    @Query("select c.status, count(c) from Content c group by c.status")
+    List<Object[]> countGroupedByStatus();
+
+    /**
+     * Find contents created at or after a point in time.
+     *
+     * <p>The bound on {@code createdAt} lets PostgreSQL prune the monthly partitions of a
+     * partitioned {@code contents} table instead of visiting all of them.
+     *
+     * @param since    lower bound of the creation time
+     * @param pageable pagination information
+     * @return page of contents
+     */
+    @EntityGraph(attributePaths = "author")
+    Page<Content> findByCreatedAtGreaterThanEqual(LocalDateTime since, Pageable pageable);
+
+    /**
+     * Find contents by author created at or after a point in time.
+     *
+     * @param author   the author
+     * @param since    lower bound of the creation time
+     * @param pageable pagination information
+     * @return page of contents
+     */
+    @EntityGraph(attributePaths = "author")
+    Page<Content> findByAuthorAndCreatedAtGreaterThanEqual(User author, LocalDateTime since, Pageable pageable);
+
+    /**
+     * Find contents by status created at or after a point in time.
+     *
+     * @param status   the status
+     * @param since    lower bound of the creation time
+     * @param pageable pagination information
+     * @return page of contents
+     */
+    @EntityGraph(attributePaths = "author")
+    Page<Content> findByStatusAndCreatedAtGreaterThanEqual(String status, LocalDateTime since, Pageable pageable);
+
+    /**
+     * Find contents by title keyword created at or after a point in time.
+     *
+     * @param keyword  the keyword to search in title
+     * @param since    lower bound of the creation time
+     * @param pageable pagination information
+     * @return page of contents
+     */
+    @EntityGraph(attributePaths = "author")
+    Page<Content> findByTitleContainingAndCreatedAtGreaterThanEqual(String keyword, LocalDateTime since,
+                                                                    Pageable pageable);
 }
@@ -0,0 +1,36 @@
+package com.webeditor.api.repository;
+
+import com.webeditor.api.entity.ContentViewCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for ContentViewCount entity operations.
+ */
+@Repository
+public interface ContentViewCountRepository extends JpaRepository<ContentViewCount, Long> {
+
+    /**
+     * Read the persisted view count of a content.
+     *
+     * @param contentId the content id
+     * @return the view count if any view was flushed
+     */
+    @Query("select v.views from ContentViewCount v where v.contentId = :contentId")
+    Optional<Long> findViews(@Param("contentId") Long contentId);
+
+    /**
+     * Remove the view count of a content.
+     *
+     * @param contentId the content id
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from ContentViewCount v where v.contentId = :contentId")
+    int deleteByContentId(@Param("contentId") Long contentId);
+}
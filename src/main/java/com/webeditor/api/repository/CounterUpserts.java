@@ -0,0 +1,85 @@
+package com.webeditor.api.repository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-statement "add to a counter row, creating it if missing" for the counter tables.
+ *
+ * <p>An update followed by an insert when no row matched races: two transactions creating the
+ * same row both insert and one fails on the primary key. PostgreSQL gets
+ * {@code INSERT ... ON CONFLICT DO UPDATE}, which never does; other databases, i.e. H2 in
+ * tests, get the equivalent standard {@code MERGE}.
+ */
+@Component
+public class CounterUpserts {
+
+    private static final String POSTGRES_COUNTER = """
+            INSERT INTO content_counters (name, stripe, total) VALUES (?1, ?2, ?3)
+            ON CONFLICT (name, stripe) DO UPDATE SET total = content_counters.total + EXCLUDED.total""";
+
+    private static final String MERGE_COUNTER = """
+            MERGE INTO content_counters c
+            USING (SELECT CAST(?1 AS VARCHAR(100)) AS name, CAST(?2 AS INTEGER) AS stripe,
+                   CAST(?3 AS BIGINT) AS delta) d
+            ON c.name = d.name AND c.stripe = d.stripe
+            WHEN MATCHED THEN UPDATE SET total = c.total + d.delta
+            WHEN NOT MATCHED THEN INSERT (name, stripe, total) VALUES (d.name, d.stripe, d.delta)""";
+
+    // Selected from contents so views of a content deleted meanwhile are dropped, not inserted
+    private static final String POSTGRES_VIEWS = """
+            INSERT INTO content_views (content_id, views)
+            SELECT id, CAST(?2 AS BIGINT) FROM contents WHERE id = ?1
+            ON CONFLICT (content_id) DO UPDATE SET views = content_views.views + EXCLUDED.views""";
+
+    private static final String MERGE_VIEWS = """
+            MERGE INTO content_views v
+            USING (SELECT id AS content_id, CAST(?2 AS BIGINT) AS delta FROM contents WHERE id = ?1) d
+            ON v.content_id = d.content_id
+            WHEN MATCHED THEN UPDATE SET views = v.views + d.delta
+            WHEN NOT MATCHED THEN INSERT (content_id, views) VALUES (d.content_id, d.delta)""";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private boolean postgres;
+
+    @PostConstruct
+    void detectDialect() {
+        postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Add a delta to one stripe of a content counter, creating it if missing.
+     *
+     * @param name   the counter name
+     * @param stripe the stripe, 0 for counters that are not striped
+     * @param delta  the amount to add, may be negative
+     */
+    public void addToCounter(String name, int stripe, long delta) {
+        entityManager.createNativeQuery(postgres ? POSTGRES_COUNTER : MERGE_COUNTER)
+                .setParameter(1, name)
+                .setParameter(2, stripe)
+                .setParameter(3, delta)
+                .executeUpdate();
+    }
+
+    /**
+     * Add views to the view count of a content, creating it if missing.
+     *
+     * @param contentId the content id
+     * @param delta     the number of views to add
+     * @return number of rows written, 0 if the content no longer exists
+     */
+    public int addViews(Long contentId, long delta) {
+        return entityManager.createNativeQuery(postgres ? POSTGRES_VIEWS : MERGE_VIEWS)
+                .setParameter(1, contentId)
+                .setParameter(2, delta)
+                .executeUpdate();
+    }
+}
@@ -3,11 +3,16 @@ package com.webeditor.api.repository;
 import com.webeditor.api.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 /**
  * Repository interface for User entity operations.
+ *
+ * <p>The lookups used by signup and login are read-write transactions, so they run on the primary
+ * even when a read replica is configured: a login straight after signup has no authenticated user
+ * to make it sticky, and replica lag would report the new account as missing.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -18,6 +23,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param username the username to search for
      * @return Optional containing the user if found
      */
+    @Transactional
     Optional<User> findByUsername(String username);
 
     /**
@@ -26,6 +32,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param username the username to check
      * @return true if user exists, false otherwise
      */
+    @Transactional
     boolean existsByUsername(String username);
 
     /**
@@ -34,5 +41,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email the email to check
      * @return true if user exists, false otherwise
      */
+    @Transactional
     boolean existsByEmail(String email);
 }
@@ -1,5 +1,10 @@
 package com.webeditor.api.security;
 
+import com.webeditor.api.metrics.RequestProfile;
+import com.webeditor.api.service.ShareLinkService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +20,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT authentication filter for validating JWT tokens in requests.
@@ -28,17 +34,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer validTokenTimer;
+    private Timer invalidTokenTimer;
+    private Timer principalLookupTimer;
+
+    @PostConstruct
+    void initTimers() {
+        validTokenTimer = Timer.builder("webeditor.auth.jwt.verification")
+                .tag("outcome", "valid")
+                .register(meterRegistry);
+        invalidTokenTimer = Timer.builder("webeditor.auth.jwt.verification")
+                .tag("outcome", "invalid")
+                .register(meterRegistry);
+        principalLookupTimer = Timer.builder("webeditor.auth.principal.lookup")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Share links are verified by signature; never load a user for them
+        return request.getRequestURI().startsWith(request.getContextPath() + ShareLinkService.PUBLIC_PATH);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        long profileStart = RequestProfile.start();
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
+            if (StringUtils.hasText(jwt) && validate(jwt)) {
                 String username = tokenProvider.getUsernameFromToken(jwt);
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = principalLookupTimer.record(
+                        () -> userDetailsService.loadUserByUsername(username));
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null,
                                 userDetails.getAuthorities());
@@ -48,11 +81,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+        } finally {
+            RequestProfile.stop(RequestProfile.Phase.AUTH, profileStart);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private boolean validate(String jwt) {
+        long start = System.nanoTime();
+        boolean valid = tokenProvider.validateToken(jwt);
+        (valid ? validTokenTimer : invalidTokenTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return valid;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,199 @@
+package com.webeditor.api.service;
+
+import com.webeditor.api.entity.ContentCounter;
+import com.webeditor.api.event.ContentChangedEvent;
+import com.webeditor.api.event.ContentPartitionsDetachedEvent;
+import com.webeditor.api.event.ContentSnapshot;
+import com.webeditor.api.repository.ContentCounterRepository;
+import com.webeditor.api.repository.ContentRepository;
+import com.webeditor.api.repository.CounterUpserts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service maintaining materialized content counts per author, per status and in total.
+ *
+ * <p>Counters are adjusted inside the same transaction as the content write, so paged
+ * endpoints can read totals in O(1) instead of running {@code COUNT(*)} over the table.
+ * A scheduled reconciliation corrects any drift against the real counts.
+ *
+ * <p>Every write touches the total and a status counter, so those are striped, see
+ * {@link ContentCounter}; author counters are spread over authors already and stay single rows.
+ */
+@Service
+@Transactional
+public class ContentCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentCounterService.class);
+
+    @Autowired
+    private ContentCounterRepository counterRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private CounterUpserts counterUpserts;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Apply the counter deltas of a content write within the writing transaction.
+     *
+     * @param event the content change
+     */
+    @EventListener
+    public void onContentChanged(ContentChangedEvent event) {
+        // Sorted so concurrent writers lock counter rows in the same order
+        Map<String, Long> deltas = new TreeMap<>();
+        addDeltas(deltas, event.getPrevious(), -1);
+        addDeltas(deltas, event.getCurrent(), 1);
+        int stripe = ThreadLocalRandom.current().nextInt(ContentCounter.STRIPES);
+        deltas.forEach((name, delta) -> {
+            if (delta != 0) {
+                counterUpserts.addToCounter(name, name.startsWith(ContentCounter.AUTHOR_PREFIX) ? 0 : stripe, delta);
+            }
+        });
+    }
+
+    /**
+     * Get the total number of contents.
+     *
+     * @return total count
+     */
+    @Transactional(readOnly = true)
+    public long getTotal() {
+        return counterRepository.sumTotal(ContentCounter.TOTAL);
+    }
+
+    /**
+     * Get the number of contents written by an author.
+     *
+     * @param authorId the author id
+     * @return count of contents
+     */
+    @Transactional(readOnly = true)
+    public long countByAuthor(Long authorId) {
+        return counterRepository.sumTotal(ContentCounter.author(authorId));
+    }
+
+    /**
+     * Get the number of contents with a status.
+     *
+     * @param status the status
+     * @return count of contents
+     */
+    @Transactional(readOnly = true)
+    public long countByStatus(String status) {
+        return counterRepository.sumTotal(ContentCounter.status(status));
+    }
+
+    /**
+     * Get the number of contents for every status that has any.
+     *
+     * @return counts keyed by status
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> countsByStatus() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Object[] row : counterRepository.findTotalsByPrefix(ContentCounter.STATUS_PREFIX)) {
+            String name = (String) row[0];
+            counts.put(name.substring(ContentCounter.STATUS_PREFIX.length()), ((Number) row[1]).longValue());
+        }
+        counts.values().removeIf(total -> total == 0);
+        return counts;
+    }
+
+    /**
+     * Reconcile once the application is ready, without failing startup.
+     *
+     * <p>A failed run, e.g. a serialization conflict with early writes, is logged and left to
+     * the next scheduled reconciliation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcileOnStartup() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        try {
+            transactionTemplate.executeWithoutResult(status -> reconcile());
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile content counters at startup, retrying on schedule", e);
+        }
+    }
+
+    /**
+     * Recompute all counters from the contents table and correct any drift.
+     *
+     * <p>Real counts and counters are read from one snapshot and corrected by delta, so a write
+     * racing with the reconciliation either conflicts and is retried on the next run, or is
+     * preserved. Stripes are compared as one sum and corrected through stripe 0. Also run right
+     * after partitions were detached, which removes contents without events.
+     */
+    @EventListener(ContentPartitionsDetachedEvent.class)
+    @Scheduled(cron = "${app.counters.reconcile-cron:0 */15 * * * *}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        Map<String, Long> expected = new HashMap<>();
+        long total = 0;
+        for (Object[] row : contentRepository.countGroupedByAuthor()) {
+            long count = ((Number) row[1]).longValue();
+            expected.put(ContentCounter.author((Long) row[0]), count);
+            total += count;
+        }
+        for (Object[] row : contentRepository.countGroupedByStatus()) {
+            expected.put(ContentCounter.status((String) row[0]), ((Number) row[1]).longValue());
+        }
+        expected.put(ContentCounter.TOTAL, total);
+
+        Map<String, Long> current = new HashMap<>();
+        for (Object[] row : counterRepository.findTotalsByPrefix("")) {
+            current.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        Map<String, Long> corrections = new TreeMap<>();
+        current.forEach((name, total) -> {
+            long actual = expected.getOrDefault(name, 0L);
+            if (total != actual) {
+                corrections.put(name, actual - total);
+            }
+            expected.remove(name);
+        });
+        expected.forEach((name, actual) -> {
+            if (actual != 0) {
+                corrections.put(name, actual);
+            }
+        });
+
+        corrections.forEach((name, delta) -> counterUpserts.addToCounter(name, 0, delta));
+        if (!corrections.isEmpty()) {
+            log.warn("Corrected {} drifted content counters: {}", corrections.size(), corrections);
+        }
+    }
+
+    private static void addDeltas(Map<String, Long> deltas, ContentSnapshot snapshot, long delta) {
+        if (snapshot == null) {
+            return;
+        }
+        deltas.merge(ContentCounter.TOTAL, delta, Long::sum);
+        deltas.merge(ContentCounter.author(snapshot.getAuthorId()), delta, Long::sum);
+        deltas.merge(ContentCounter.status(snapshot.getStatus()), delta, Long::sum);
+    }
+}
@@ -0,0 +1,115 @@
+package com.webeditor.api.service;
+
+import com.webeditor.api.event.ContentPartitionsDetachedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of a range-partitioned {@code contents} table.
+ *
+ * <p>Only active with {@code app.partitioning.enabled=true}, after the table has been converted
+ * with {@code scripts/db/partitioning/01-partition-contents.sql}. Partitions are created a few
+ * months ahead, and partitions older than the retention period are detached concurrently so
+ * they can be archived without blocking reads or writes. The view counts of detached contents
+ * are deleted, and a {@link ContentPartitionsDetachedEvent} makes the caches, the filter index
+ * and the counters forget them.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.partitioning", name = "enabled", havingValue = "true")
+public class ContentPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentPartitionMaintenance.class);
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("contents_p(\\d{6})");
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${app.partitioning.retention-months:0}")
+    private int retentionMonths;
+
+    /**
+     * Create upcoming partitions and detach expired ones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        createUpcomingPartitions();
+        if (retentionMonths > 0) {
+            detachPartitionsBefore(YearMonth.now().minusMonths(retentionMonths));
+        }
+    }
+
+    /**
+     * Make sure partitions exist from the current month up to {@code months-ahead} months ahead.
+     */
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            jdbcTemplate.queryForObject("SELECT create_contents_partition(?)", String.class,
+                    Date.valueOf(current.plusMonths(i).atDay(1)));
+        }
+    }
+
+    /**
+     * Detach every monthly partition older than the given month.
+     *
+     * <p>Runs {@code DETACH PARTITION ... CONCURRENTLY}, which cannot be part of a transaction,
+     * so this method must not be called inside one. Detached tables keep their data until they
+     * are archived and dropped.
+     *
+     * @param cutoff first month to keep attached
+     * @return names of the detached partitions
+     */
+    public List<String> detachPartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT child.relname FROM pg_inherits "
+                        + "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent "
+                        + "JOIN pg_class child ON child.oid = pg_inherits.inhrelid "
+                        + "WHERE parent.relname = 'contents' ORDER BY child.relname",
+                String.class);
+
+        List<String> detached = partitions.stream()
+                .filter(name -> isBefore(name, cutoff))
+                .toList();
+        for (String name : detached) {
+            jdbcTemplate.execute("ALTER TABLE contents DETACH PARTITION " + name + " CONCURRENTLY");
+            // The detached table still holds the rows, so it names the view counts to drop
+            int views = jdbcTemplate.update(
+                    "DELETE FROM content_views v USING " + name + " p WHERE v.content_id = p.id");
+            log.info("Detached content partition {} for archival, dropped {} view counts", name, views);
+        }
+        if (!detached.isEmpty()) {
+            eventPublisher.publishEvent(new ContentPartitionsDetachedEvent(detached));
+        }
+        return detached;
+    }
+
+    private static boolean isBefore(String partitionName, YearMonth cutoff) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        return matcher.matches() && YearMonth.parse(matcher.group(1), PARTITION_MONTH).isBefore(cutoff);
+    }
+}
@@ -1,26 +1,72 @@
 package com.webeditor.api.service;
 
+import com.webeditor.api.cache.LoadedContent;
+import com.webeditor.api.cache.PublishedContentCache;
+import com.webeditor.api.cache.SingleFlightLoader;
+import com.webeditor.api.dto.ContentBatchResponse;
+import com.webeditor.api.dto.ContentPage;
 import com.webeditor.api.dto.ContentRequest;
 import com.webeditor.api.dto.ContentResponse;
+import com.webeditor.api.dto.ContentStatsResponse;
 import com.webeditor.api.entity.Content;
 import com.webeditor.api.entity.User;
+import com.webeditor.api.event.ContentChangedEvent;
+import com.webeditor.api.event.ContentSnapshot;
+import com.webeditor.api.exception.ContentVersionConflictException;
+import com.webeditor.api.index.ContentFilterIndex;
+import com.webeditor.api.metrics.RequestProfile;
 import com.webeditor.api.repository.ContentRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing content operations.
  */
 @Service
 @Transactional
+@Timed(value = "webeditor.content.service", histogram = true)
 public class ContentService {
 
     @Autowired
     private ContentRepository contentRepository;
 
+    @Autowired
+    private ContentFilterIndex contentFilterIndex;
+
+    @Autowired
+    private ContentCounterService contentCounterService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SingleFlightLoader<Long, LoadedContent> contentLoader;
+
+    @Autowired
+    private TransactionOperations readOnlyTransactionOperations;
+
+    @Autowired
+    private PublishedContentCache publishedContentCache;
+
     /**
      * Create new content.
      *
@@ -38,7 +84,8 @@ public class ContentService {
                 .build();
 
         Content savedContent = contentRepository.save(content);
-        return ContentResponse.fromEntity(savedContent);
+        eventPublisher.publishEvent(new ContentChangedEvent(null, ContentSnapshot.of(savedContent)));
+        return toResponse(savedContent);
     }
 
     /**
@@ -51,20 +98,44 @@ public class ContentService {
      * @throws RuntimeException if content not found or unauthorized
      */
     public ContentResponse updateContent(Long id, ContentRequest request, User author) {
+        return updateContent(id, request, author, null);
+    }
+
+    /**
+     * Update existing content if it is still at the version the client last read.
+     *
+     * <p>Concurrent updates that both pass the check are still caught when the second one
+     * flushes, as an {@link org.springframework.orm.ObjectOptimisticLockingFailureException}.
+     *
+     * @param id              the content id
+     * @param request         the content request
+     * @param author          the author user
+     * @param expectedVersions the versions the update may be based on, or null to skip the check
+     * @return updated content response
+     * @throws ContentVersionConflictException if the content is at none of these versions
+     * @throws RuntimeException if content not found or unauthorized
+     */
+    public ContentResponse updateContent(Long id, ContentRequest request, User author,
+                                         Collection<Long> expectedVersions) {
         Content content = contentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Content not found with id: " + id));
 
         if (!content.getAuthor().getId().equals(author.getId())) {
             throw new RuntimeException("You are not authorized to update this content");
         }
+        checkVersion(content, expectedVersions);
 
+        ContentSnapshot previous = ContentSnapshot.of(content);
         content.setTitle(request.getTitle());
         content.setBody(request.getBody());
         content.setStatus(request.getStatus());
         content.setTags(request.getTags());
 
         Content updatedContent = contentRepository.save(content);
-        return ContentResponse.fromEntity(updatedContent);
+        // Flush so the response carries the incremented version and a conflict surfaces here
+        contentRepository.flush();
+        eventPublisher.publishEvent(new ContentChangedEvent(previous, ContentSnapshot.of(updatedContent)));
+        return toResponse(updatedContent);
     }
 
     /**
@@ -75,78 +146,294 @@ public class ContentService {
      * @throws RuntimeException if content not found or unauthorized
      */
     public void deleteContent(Long id, User author) {
+        deleteContent(id, author, null);
+    }
+
+    /**
+     * Delete content if it is still at the version the client last read.
+     *
+     * @param id              the content id
+     * @param author          the author user
+     * @param expectedVersions the versions the delete may be based on, or null to skip the check
+     * @throws ContentVersionConflictException if the content is at none of these versions
+     * @throws RuntimeException if content not found or unauthorized
+     */
+    public void deleteContent(Long id, User author, Collection<Long> expectedVersions) {
         Content content = contentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Content not found with id: " + id));
 
         if (!content.getAuthor().getId().equals(author.getId())) {
             throw new RuntimeException("You are not authorized to delete this content");
         }
+        checkVersion(content, expectedVersions);
 
         contentRepository.delete(content);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentSnapshot.of(content), null));
     }
 
     /**
      * Get content by id.
      *
+     * <p>Concurrent calls for the same id share one query. The method itself runs outside a
+     * transaction so that callers waiting on another caller's query do not hold a connection.
+     *
      * @param id the content id
      * @return content response
      * @throws RuntimeException if content not found
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ContentResponse getContentById(Long id) {
-        Content content = contentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Content not found with id: " + id));
-        return ContentResponse.fromEntity(content);
+        return contentLoader.get(id, this::loadContent).getResponse();
+    }
+
+    /**
+     * Get content by id along with its serialized body when it is published.
+     *
+     * <p>Same as {@link #getContentById}, for callers that write the serialized body themselves.
+     *
+     * @param id the content id
+     * @return the loaded content
+     * @throws RuntimeException if content not found
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LoadedContent loadContentById(Long id) {
+        return contentLoader.get(id, this::loadContent);
+    }
+
+    /**
+     * Get several contents by id with a single query.
+     *
+     * @param ids the content ids, possibly with duplicates
+     * @return contents in the requested order, with null entries for missing ids
+     */
+    @Transactional(readOnly = true)
+    public ContentBatchResponse getContentsByIds(List<Long> ids) {
+        Map<Long, ContentResponse> found = new HashMap<>();
+        for (Content content : contentRepository.findAllWithAuthorByIdIn(new LinkedHashSet<>(ids))) {
+            found.put(content.getId(), toResponse(content));
+        }
+
+        List<ContentResponse> contents = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            ContentResponse response = found.get(id);
+            contents.add(response);
+            if (response == null) {
+                missingIds.add(id);
+            }
+        }
+        return new ContentBatchResponse(contents, missingIds);
     }
 
     /**
      * Get all contents with pagination.
      *
+     * <p>Without {@code since} the total is read from the materialized counters instead of a
+     * count query; with it, the query is bounded on creation time so partitions can be pruned.
+     *
+     * @param since    only contents created at or after this time, or null for all
      * @param pageable pagination information
      * @return page of content responses
      */
     @Transactional(readOnly = true)
-    public Page<ContentResponse> getAllContents(Pageable pageable) {
-        return contentRepository.findAll(pageable)
-                .map(ContentResponse::fromEntity);
+    public Page<ContentResponse> getAllContents(LocalDateTime since, Pageable pageable) {
+        return findAllContents(since, pageable).map(ContentService::toResponse);
+    }
+
+    /**
+     * Get all contents with pagination as entities in the compact envelope.
+     *
+     * @param since    only contents created at or after this time, or null for all
+     * @param pageable pagination information
+     * @return page of contents with their authors fetched
+     */
+    @Transactional(readOnly = true)
+    public ContentPage getAllContentPage(LocalDateTime since, Pageable pageable) {
+        return ContentPage.of(findAllContents(since, pageable));
     }
 
     /**
      * Get contents by author.
      *
      * @param author   the author user
+     * @param since    only contents created at or after this time, or null for all
      * @param pageable pagination information
      * @return page of content responses
      */
     @Transactional(readOnly = true)
-    public Page<ContentResponse> getContentsByAuthor(User author, Pageable pageable) {
-        return contentRepository.findByAuthor(author, pageable)
-                .map(ContentResponse::fromEntity);
+    public Page<ContentResponse> getContentsByAuthor(User author, LocalDateTime since, Pageable pageable) {
+        return findContentsByAuthor(author, since, pageable).map(ContentService::toResponse);
+    }
+
+    /**
+     * Get contents by author as entities in the compact envelope.
+     *
+     * @param author   the author user
+     * @param since    only contents created at or after this time, or null for all
+     * @param pageable pagination information
+     * @return page of contents with their authors fetched
+     */
+    @Transactional(readOnly = true)
+    public ContentPage getContentPageByAuthor(User author, LocalDateTime since, Pageable pageable) {
+        return ContentPage.of(findContentsByAuthor(author, since, pageable));
     }
 
     /**
      * Get contents by status.
      *
      * @param status   the status
+     * @param since    only contents created at or after this time, or null for all
      * @param pageable pagination information
      * @return page of content responses
      */
     @Transactional(readOnly = true)
-    public Page<ContentResponse> getContentsByStatus(String status, Pageable pageable) {
-        return contentRepository.findByStatus(status, pageable)
-                .map(ContentResponse::fromEntity);
+    public Page<ContentResponse> getContentsByStatus(String status, LocalDateTime since, Pageable pageable) {
+        return findContentsByStatus(status, since, pageable).map(ContentService::toResponse);
+    }
+
+    /**
+     * Get contents by status as entities in the compact envelope.
+     *
+     * @param status   the status
+     * @param since    only contents created at or after this time, or null for all
+     * @param pageable pagination information
+     * @return page of contents with their authors fetched
+     */
+    @Transactional(readOnly = true)
+    public ContentPage getContentPageByStatus(String status, LocalDateTime since, Pageable pageable) {
+        return ContentPage.of(findContentsByStatus(status, since, pageable));
     }
 
     /**
      * Search contents by title.
      *
      * @param keyword  the keyword to search
+     * @param since    only contents created at or after this time, or null for all
+     * @param pageable pagination information
+     * @return page of content responses
+     */
+    @Transactional(readOnly = true)
+    public Page<ContentResponse> searchContentsByTitle(String keyword, LocalDateTime since, Pageable pageable) {
+        return findContentsByTitle(keyword, since, pageable).map(ContentService::toResponse);
+    }
+
+    /**
+     * Search contents by title as entities in the compact envelope.
+     *
+     * @param keyword  the keyword to search
+     * @param since    only contents created at or after this time, or null for all
      * @param pageable pagination information
+     * @return page of contents with their authors fetched
+     */
+    @Transactional(readOnly = true)
+    public ContentPage searchContentPageByTitle(String keyword, LocalDateTime since, Pageable pageable) {
+        return ContentPage.of(findContentsByTitle(keyword, since, pageable));
+    }
+
+    /**
+     * Filter contents by any combination of author, status and tags, newest first.
+     *
+     * <p>Matching ids and the total count come from the in-memory filter index; only the
+     * requested page is loaded from the database.
+     *
+     * @param authorId the author id, or null for any author
+     * @param status   the status, or null for any status
+     * @param tags     tags that must all be present, or null for no tag filter
+     * @param pageable pagination information; sorting is ignored
      * @return page of content responses
+     * @throws IllegalStateException if the filter index has not been built yet
      */
     @Transactional(readOnly = true)
-    public Page<ContentResponse> searchContentsByTitle(String keyword, Pageable pageable) {
-        return contentRepository.findByTitleContaining(keyword, pageable)
-                .map(ContentResponse::fromEntity);
+    public Page<ContentResponse> filterContents(Long authorId, String status, Collection<String> tags,
+                                                Pageable pageable) {
+        if (!contentFilterIndex.isReady()) {
+            throw new IllegalStateException("Content filter index is not ready");
+        }
+
+        ContentFilterIndex.FilterResult result = contentFilterIndex.query(
+                authorId, status, tags, pageable.getOffset(), pageable.getPageSize());
+        Map<Long, Content> contents = contentRepository.findAllWithAuthorByIdIn(result.getIds()).stream()
+                .collect(Collectors.toMap(Content::getId, Function.identity()));
+
+        List<ContentResponse> responses = result.getIds().stream()
+                .map(contents::get)
+                .filter(Objects::nonNull)
+                .map(ContentService::toResponse)
+                .toList();
+        return new PageImpl<>(responses, pageable, result.getTotal());
+    }
+
+    /**
+     * Get content statistics from the materialized counters.
+     *
+     * @param user the current user
+     * @return content statistics
+     */
+    @Transactional(readOnly = true)
+    public ContentStatsResponse getContentStats(User user) {
+        return new ContentStatsResponse(
+                contentCounterService.getTotal(),
+                contentCounterService.countsByStatus(),
+                contentCounterService.countByAuthor(user.getId()));
+    }
+
+    private Page<Content> findAllContents(LocalDateTime since, Pageable pageable) {
+        if (since != null) {
+            return contentRepository.findByCreatedAtGreaterThanEqual(since, pageable);
+        }
+        return new PageImpl<>(contentRepository.findPageContent(pageable), pageable,
+                contentCounterService.getTotal());
+    }
+
+    private Page<Content> findContentsByAuthor(User author, LocalDateTime since, Pageable pageable) {
+        if (since != null) {
+            return contentRepository.findByAuthorAndCreatedAtGreaterThanEqual(author, since, pageable);
+        }
+        return new PageImpl<>(contentRepository.findPageContentByAuthor(author, pageable), pageable,
+                contentCounterService.countByAuthor(author.getId()));
+    }
+
+    private Page<Content> findContentsByStatus(String status, LocalDateTime since, Pageable pageable) {
+        if (since != null) {
+            return contentRepository.findByStatusAndCreatedAtGreaterThanEqual(status, since, pageable);
+        }
+        return new PageImpl<>(contentRepository.findPageContentByStatus(status, pageable), pageable,
+                contentCounterService.countByStatus(status));
+    }
+
+    private Page<Content> findContentsByTitle(String keyword, LocalDateTime since, Pageable pageable) {
+        if (since != null) {
+            return contentRepository.findByTitleContainingAndCreatedAtGreaterThanEqual(keyword, since, pageable);
+        }
+        return contentRepository.findByTitleContaining(keyword, pageable);
+    }
+
+    // Only fresh database reads fill the published cache, never values served stale by the loader
+    private LoadedContent loadContent(Long id) {
+        long stamp = publishedContentCache.stamp();
+        ContentResponse response = readOnlyTransactionOperations.execute(status -> {
+            Content content = contentRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Content not found with id: " + id));
+            return toResponse(content);
+        });
+        if (PublishedContentCache.PUBLISHED.equals(response.getStatus())) {
+            return new LoadedContent(response, publishedContentCache.put(response, stamp));
+        }
+        return new LoadedContent(response, null);
+    }
+
+    private static ContentResponse toResponse(Content content) {
+        long profileStart = RequestProfile.start();
+        try {
+            return ContentResponse.fromEntity(content);
+        } finally {
+            RequestProfile.stop(RequestProfile.Phase.MAPPING, profileStart);
+        }
+    }
+
+    private static void checkVersion(Content content, Collection<Long> expectedVersions) {
+        if (expectedVersions != null && !expectedVersions.contains(content.getVersion())) {
+            throw new ContentVersionConflictException(content.getId(), expectedVersions, content.getVersion());
+        }
     }
 }
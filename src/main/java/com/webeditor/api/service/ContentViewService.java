@@ -0,0 +1,184 @@
+package com.webeditor.api.service;
+
+import com.webeditor.api.event.ContentChangedEvent;
+import com.webeditor.api.repository.ContentViewCountRepository;
+import com.webeditor.api.repository.CounterUpserts;
+import com.webeditor.api.views.TrendingTracker;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service counting content views without a database write per view.
+ *
+ * <p>Views are added to an in-memory counter per content and flushed periodically as one
+ * aggregated delta per content, all in a single transaction. A counter is only updated, drained
+ * and removed inside an atomic compute of its map entry, so no view falls between a drain and
+ * the removal of an idle counter. Each node flushes its own deltas,
+ * so counts add up across nodes. A failed flush keeps its deltas for the next one; views of a
+ * content deleted meanwhile are dropped by the flush itself. Views are also fed to a
+ * {@link TrendingTracker}, which answers the trending list from memory.
+ */
+@Service
+public class ContentViewService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentViewService.class);
+
+    @Autowired
+    private ContentViewCountRepository viewCountRepository;
+
+    @Autowired
+    private CounterUpserts counterUpserts;
+
+    @Autowired
+    private TrendingTracker trendingTracker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final LongAdder flushed = new LongAdder();
+
+    /**
+     * Count one view of a content.
+     *
+     * @param contentId the content id
+     */
+    public void recordView(Long contentId) {
+        addPending(contentId, 1);
+        trendingTracker.record(contentId);
+    }
+
+    /**
+     * Get the number of views of a content, including those not flushed yet.
+     *
+     * @param contentId the content id
+     * @return the view count
+     */
+    @Transactional(readOnly = true)
+    public long getViews(Long contentId) {
+        LongAdder views = pending.get(contentId);
+        long unflushed = views != null ? views.sum() : 0;
+        return viewCountRepository.findViews(contentId).orElse(0L) + unflushed;
+    }
+
+    /**
+     * Get the most viewed contents of the trending window.
+     *
+     * @param limit maximum number of entries
+     * @return entries ordered by estimated views, most viewed first
+     */
+    public List<TrendingTracker.Entry> getTrending(int limit) {
+        return trendingTracker.top(limit);
+    }
+
+    /**
+     * Add the views counted since the last flush to the view counts table.
+     */
+    @Scheduled(fixedDelayString = "${app.views.flush-interval:10s}")
+    @PreDestroy
+    public void flush() {
+        // Sorted so concurrent flushes of several nodes lock rows in the same order
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (Long contentId : pending.keySet()) {
+            pending.computeIfPresent(contentId, (id, views) -> {
+                long delta = views.sumThenReset();
+                if (delta == 0) {
+                    // Idle for a whole interval
+                    return null;
+                }
+                deltas.put(id, delta);
+                return views;
+            });
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> deltas.forEach(counterUpserts::addViews));
+            deltas.values().forEach(flushed::add);
+        } catch (RuntimeException e) {
+            deltas.forEach(this::addPending);
+            log.warn("Could not flush views of {} contents, retrying with the next flush", deltas.size(), e);
+        }
+    }
+
+    /**
+     * Advance the trending window by one bucket.
+     */
+    @Scheduled(fixedRateString = "${app.views.trending.bucket-duration:1m}",
+            initialDelayString = "${app.views.trending.bucket-duration:1m}")
+    public void rotateTrendingWindow() {
+        trendingTracker.rotate();
+    }
+
+    /**
+     * Delete the view count of a deleted content within the deleting transaction.
+     *
+     * @param event the content change
+     */
+    @EventListener
+    @Transactional
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.isDeletion()) {
+            viewCountRepository.deleteByContentId(event.getContentId());
+        }
+    }
+
+    /**
+     * Forget the unflushed and trending views of a deleted content once the deletion committed,
+     * so a rolled back deletion loses none.
+     *
+     * @param event the content change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentDeleted(ContentChangedEvent event) {
+        if (event.isDeletion()) {
+            Long contentId = event.getContentId();
+            pending.remove(contentId);
+            trendingTracker.remove(contentId);
+        }
+    }
+
+    private void addPending(Long contentId, long views) {
+        pending.compute(contentId, (id, pendingViews) -> {
+            LongAdder adder = pendingViews != null ? pendingViews : new LongAdder();
+            adder.add(views);
+            return adder;
+        });
+    }
+
+    /**
+     * Number of contents with views not flushed yet.
+     *
+     * @return pending content count
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Total number of views written to the database by this node.
+     *
+     * @return flushed view count
+     */
+    public long flushedCount() {
+        return flushed.sum();
+    }
+}
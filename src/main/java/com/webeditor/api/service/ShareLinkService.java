@@ -0,0 +1,72 @@
+package com.webeditor.api.service;
+
+import com.webeditor.api.cache.PublishedContentCache;
+import com.webeditor.api.dto.ShareLinkResponse;
+import com.webeditor.api.entity.Content;
+import com.webeditor.api.entity.User;
+import com.webeditor.api.repository.ContentRepository;
+import com.webeditor.api.security.ShareLinkSigner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Service issuing signed public share links for published contents.
+ */
+@Service
+public class ShareLinkService {
+
+    /**
+     * Path of the public read route served without authentication.
+     */
+    public static final String PUBLIC_PATH = "/public/contents/";
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private ShareLinkSigner shareLinkSigner;
+
+    @Value("${app.share.default-ttl:7d}")
+    private Duration defaultTtl;
+
+    @Value("${app.share.max-ttl:30d}")
+    private Duration maxTtl;
+
+    /**
+     * Create a share link for a published content owned by the author.
+     *
+     * @param id      the content id
+     * @param author  the author user
+     * @param ttl     how long the link stays valid, or null for the default; capped at the maximum
+     * @param baseUrl the public base URL of the application
+     * @return the share link
+     * @throws RuntimeException if content not found, unauthorized or not published
+     */
+    @Transactional(readOnly = true)
+    public ShareLinkResponse createShareLink(Long id, User author, Duration ttl, String baseUrl) {
+        Content content = contentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Content not found with id: " + id));
+
+        if (!content.getAuthor().getId().equals(author.getId())) {
+            throw new RuntimeException("You are not authorized to share this content");
+        }
+        if (!PublishedContentCache.PUBLISHED.equals(content.getStatus())) {
+            throw new RuntimeException("Only published content can be shared");
+        }
+
+        Duration validity = ttl == null || ttl.isNegative() || ttl.isZero() ? defaultTtl : ttl;
+        if (validity.compareTo(maxTtl) > 0) {
+            validity = maxTtl;
+        }
+        long expiresAt = Instant.now().plus(validity).getEpochSecond();
+        String url = baseUrl + PUBLIC_PATH + id
+                + "?exp=" + expiresAt
+                + "&sig=" + shareLinkSigner.sign(id, expiresAt);
+        return new ShareLinkResponse(url, Instant.ofEpochSecond(expiresAt));
+    }
+}
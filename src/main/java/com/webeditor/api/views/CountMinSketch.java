@@ -0,0 +1,102 @@
+package com.webeditor.api.views;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch of long keys: approximate counts in a fixed amount of memory.
+ *
+ * <p>Each key is counted in one cell per row, chosen by a row-specific hash, and its estimate
+ * is the smallest of those cells. Estimates never undercount; with width {@code w} and depth
+ * {@code d} they overcount by more than {@code e / w} of the total count with probability at
+ * most {@code e^-d}. Cells are updated atomically, so adds need no lock.
+ */
+public class CountMinSketch {
+
+    private static final long ROW_SEED = 0x9E3779B97F4A7C15L;
+
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray cells;
+
+    /**
+     * Create an empty sketch.
+     *
+     * @param width cells per row, a power of two
+     * @param depth number of rows
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two: " + width);
+        }
+        if (depth <= 0) {
+            throw new IllegalArgumentException("Sketch depth must be positive: " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.cells = new AtomicLongArray(width * depth);
+    }
+
+    /**
+     * Add to the count of a key.
+     *
+     * @param key   the key
+     * @param count the amount to add
+     * @return the estimated count of the key after the add
+     */
+    public long add(long key, long count) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells.addAndGet(index(key, row), count));
+        }
+        return estimate;
+    }
+
+    /**
+     * Estimate the count of a key.
+     *
+     * @param key the key
+     * @return the smallest of the key's cells, never less than its real count
+     */
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells.get(index(key, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Subtract the counts of another sketch of the same dimensions, cell by cell.
+     *
+     * @param other the sketch to subtract
+     */
+    public void subtract(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Sketch dimensions differ");
+        }
+        for (int i = 0; i < cells.length(); i++) {
+            long count = other.cells.get(i);
+            if (count != 0) {
+                cells.addAndGet(i, -count);
+            }
+        }
+    }
+
+    /**
+     * Reset every count to zero.
+     */
+    public void clear() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+    }
+
+    private int index(long key, int row) {
+        // Stafford's mix13 of the key with a row-specific seed
+        long hash = key ^ (ROW_SEED * (row + 1));
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 31;
+        return row * width + (int) (hash & (width - 1));
+    }
+}
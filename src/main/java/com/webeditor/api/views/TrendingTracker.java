@@ -0,0 +1,185 @@
+package com.webeditor.api.views;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Most viewed contents over a sliding window, in memory of fixed size.
+ *
+ * <p>The window is a ring of Count-Min sketches, one per time bucket, plus a sketch holding
+ * their sum. A view is added to the current bucket and to the sum without locking. Contents
+ * whose windowed estimate beats the smallest of the current top entries are offered to a
+ * bounded min-heap; an offer is skipped when another thread holds the heap, since a content
+ * that is really trending is offered again by its next view. {@link #rotate()} drops the
+ * oldest bucket from the sum and re-ranks the heap by what remains.
+ */
+public class TrendingTracker {
+
+    private final CountMinSketch[] buckets;
+    private final CountMinSketch window;
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Long> candidates = new HashMap<>();
+    private final PriorityQueue<Long> heap = new PriorityQueue<>(Comparator.comparingLong(candidates::get));
+
+    private volatile int current;
+    private volatile long admissionThreshold;
+
+    /**
+     * Create an empty tracker.
+     *
+     * @param buckets     number of time buckets in the window
+     * @param capacity    number of contents ranked, the most {@link #top} can return
+     * @param sketchWidth cells per sketch row, a power of two
+     * @param sketchDepth rows per sketch
+     */
+    public TrendingTracker(int buckets, int capacity, int sketchWidth, int sketchDepth) {
+        if (buckets < 2) {
+            throw new IllegalArgumentException("A sliding window needs at least 2 buckets: " + buckets);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Trending capacity must be positive: " + capacity);
+        }
+        this.buckets = new CountMinSketch[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new CountMinSketch(sketchWidth, sketchDepth);
+        }
+        this.window = new CountMinSketch(sketchWidth, sketchDepth);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Count one view of a content in the current bucket.
+     *
+     * @param contentId the content id
+     */
+    public void record(long contentId) {
+        buckets[current].add(contentId, 1);
+        long estimate = window.add(contentId, 1);
+        if (estimate > admissionThreshold && lock.tryLock()) {
+            try {
+                offer(contentId, estimate);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Advance the window by one bucket, forgetting the views of the oldest one.
+     */
+    public void rotate() {
+        lock.lock();
+        try {
+            // The oldest bucket is never the current one, so no view is added to it meanwhile
+            int oldest = (current + 1) % buckets.length;
+            window.subtract(buckets[oldest]);
+            buckets[oldest].clear();
+            current = oldest;
+
+            heap.clear();
+            candidates.replaceAll((contentId, estimate) -> window.estimate(contentId));
+            candidates.values().removeIf(estimate -> estimate <= 0);
+            heap.addAll(candidates.keySet());
+            updateAdmissionThreshold();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop ranking a content, e.g. after it was deleted.
+     *
+     * @param contentId the content id
+     */
+    public void remove(long contentId) {
+        lock.lock();
+        try {
+            if (candidates.containsKey(contentId)) {
+                heap.remove(contentId);
+                candidates.remove(contentId);
+                updateAdmissionThreshold();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the most viewed contents of the window.
+     *
+     * @param limit maximum number of entries
+     * @return entries ordered by estimated views, most viewed first
+     */
+    public List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>();
+        lock.lock();
+        try {
+            candidates.forEach((contentId, views) -> entries.add(new Entry(contentId, views)));
+        } finally {
+            lock.unlock();
+        }
+        entries.sort(Comparator.comparingLong(Entry::getViews).reversed()
+                .thenComparingLong(Entry::getContentId));
+        return entries.size() > limit ? entries.subList(0, Math.max(limit, 0)) : entries;
+    }
+
+    /**
+     * Estimate the views of a content within the window.
+     *
+     * @param contentId the content id
+     * @return estimated views, never less than the real number
+     */
+    public long estimate(long contentId) {
+        return window.estimate(contentId);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void offer(long contentId, long estimate) {
+        Long known = candidates.get(contentId);
+        if (known != null) {
+            if (estimate <= known) {
+                return;
+            }
+            // Removed while its old estimate still orders the heap
+            heap.remove(contentId);
+        } else if (candidates.size() >= capacity) {
+            Long smallest = heap.peek();
+            if (estimate <= candidates.get(smallest)) {
+                return;
+            }
+            heap.poll();
+            candidates.remove(smallest);
+        }
+        candidates.put(contentId, estimate);
+        heap.add(contentId);
+        updateAdmissionThreshold();
+    }
+
+    private void updateAdmissionThreshold() {
+        admissionThreshold = candidates.size() < capacity ? 0 : candidates.get(heap.peek());
+    }
+
+    /**
+     * A ranked content and its estimated views within the window.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+
+        private final long contentId;
+        private final long views;
+    }
+}
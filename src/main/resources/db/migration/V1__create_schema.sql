@@ -0,0 +1,29 @@
+-- Baseline schema, previously generated by Hibernate (ddl-auto: update).
+-- IF NOT EXISTS keeps this a no-op on databases created that way.
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL,
+    CONSTRAINT ux_users_username UNIQUE (username),
+    CONSTRAINT ux_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS contents (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title      VARCHAR(255) NOT NULL,
+    body       TEXT         NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    author_id  BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    tags       VARCHAR(255),
+    CONSTRAINT fk_contents_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS content_counters (
+    name  VARCHAR(100) PRIMARY KEY,
+    total BIGINT NOT NULL
+);
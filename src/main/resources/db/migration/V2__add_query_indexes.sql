@@ -0,0 +1,23 @@
+-- Indexes backing the ContentRepository and UserRepository queries.
+-- Names match scripts/db/partitioning/01-partition-contents.sql so both stay in sync.
+
+-- findByUsername / existsByUsername / existsByEmail
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_username ON users (username);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email ON users (email);
+
+-- findAll / findPageContent / findByCreatedAtGreaterThanEqual, newest first
+CREATE INDEX IF NOT EXISTS idx_contents_created_at ON contents (created_at DESC);
+
+-- findByAuthor / countByAuthor / countGroupedByAuthor
+CREATE INDEX IF NOT EXISTS idx_contents_author_created_at ON contents (author_id, created_at DESC);
+
+-- findByStatus / countGroupedByStatus
+CREATE INDEX IF NOT EXISTS idx_contents_status_created_at ON contents (status, created_at DESC);
+
+-- findByAuthorAndStatus
+CREATE INDEX IF NOT EXISTS idx_contents_author_status_created_at
+    ON contents (author_id, status, created_at DESC);
+
+-- findByTitleContaining (LIKE '%keyword%')
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_contents_title_trgm ON contents USING gin (title gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- Optimistic locking for concurrent edits (Content.version, exposed as the ETag)
+ALTER TABLE contents ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
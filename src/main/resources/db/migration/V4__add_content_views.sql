@@ -0,0 +1,5 @@
+-- View counts, written behind in aggregated deltas by ContentViewService
+CREATE TABLE IF NOT EXISTS content_views (
+    content_id BIGINT PRIMARY KEY,
+    views      BIGINT NOT NULL
+);
@@ -0,0 +1,20 @@
+-- Counter stripes move from a '<name>#<stripe>' suffix to their own column, so a status
+-- ending in '#<digits>' can no longer be mistaken for a stripe. Rows the old naming
+-- misattributed are corrected by the next ContentCounterService reconciliation.
+CREATE TABLE content_counters_striped (
+    name   VARCHAR(100) NOT NULL,
+    stripe INTEGER NOT NULL DEFAULT 0,
+    total  BIGINT NOT NULL,
+    PRIMARY KEY (name, stripe)
+);
+
+INSERT INTO content_counters_striped (name, stripe, total)
+SELECT CASE WHEN name ~ '#[0-9]+$' THEN regexp_replace(name, '#[0-9]+$', '') ELSE name END,
+       CASE WHEN name ~ '#[0-9]+$' THEN CAST(substring(name FROM '#([0-9]+)$') AS INTEGER) ELSE 0 END,
+       SUM(total)
+FROM content_counters
+GROUP BY 1, 2;
+
+DROP TABLE content_counters;
+ALTER TABLE content_counters_striped RENAME TO content_counters;
+ALTER TABLE content_counters RENAME CONSTRAINT content_counters_striped_pkey TO content_counters_pkey;
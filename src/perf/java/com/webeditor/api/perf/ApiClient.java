@@ -0,0 +1,161 @@
+package com.webeditor.api.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal blocking client of the REST API used by the load test.
+ */
+final class ApiClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    Response signup(String username, String password) throws IOException, InterruptedException {
+        return post("/api/auth/signup", null, Map.of(
+                "username", username, "email", username + "@example.com", "password", password));
+    }
+
+    Response login(String username, String password) throws IOException, InterruptedException {
+        return post("/api/auth/login", null, Map.of("username", username, "password", password));
+    }
+
+    Response list(String token, int page, int size) throws IOException, InterruptedException {
+        return get("/api/contents?page=" + page + "&size=" + size, token);
+    }
+
+    Response get(String token, long id) throws IOException, InterruptedException {
+        return get("/api/contents/" + id, token);
+    }
+
+    Response search(String token, String keyword) throws IOException, InterruptedException {
+        return get("/api/contents/search?keyword=" + URLEncoder.encode(keyword, StandardCharsets.UTF_8), token);
+    }
+
+    Response create(String token, String title, String body) throws IOException, InterruptedException {
+        return post("/api/contents", token, Map.of("title", title, "body", body, "status", "DRAFT"));
+    }
+
+    Response update(String token, long id, String eTag, String title, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = request("/api/contents/" + id, token)
+                .PUT(json(Map.of("title", title, "body", body, "status", "DRAFT")));
+        if (eTag != null) {
+            request.header("If-Match", eTag);
+        }
+        return send(request.build());
+    }
+
+    /**
+     * Check whether the server answers its health endpoint.
+     *
+     * @return true if the application is up
+     */
+    boolean isUp() {
+        try {
+            return send(request("/actuator/health", null).GET().build()).getStatus() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Response get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    private Response post(String path, String token, Map<String, String> body)
+            throws IOException, InterruptedException {
+        return send(request(path, token).POST(json(body)).build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private HttpRequest.BodyPublisher json(Map<String, String> body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+
+    private Response send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.headers().firstValue("ETag").orElse(null),
+                response.body(), objectMapper);
+    }
+
+    /**
+     * Status, ETag and body of a response.
+     */
+    static final class Response {
+
+        private final int status;
+        private final String eTag;
+        private final byte[] body;
+        private final ObjectMapper objectMapper;
+
+        private Response(int status, String eTag, byte[] body, ObjectMapper objectMapper) {
+            this.status = status;
+            this.eTag = eTag;
+            this.body = body;
+            this.objectMapper = objectMapper;
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+
+        String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Read a top-level field of the JSON body.
+         *
+         * @param field the field name
+         * @return the field value
+         * @throws IOException if the body is not JSON or lacks the field
+         */
+        JsonNode field(String field) throws IOException {
+            JsonNode value = objectMapper.readTree(body).get(field);
+            if (value == null) {
+                throw new IOException("Response " + status + " has no field " + field);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.webeditor.api.perf;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records the parameter values of the prepared statements executed on the current thread.
+ *
+ * <p>{@link com.webeditor.api.metrics.CountingStatementInspector} sees the SQL Hibernate prepares
+ * but not the values bound to it; this fills that gap, so a benchmark can explain a statement
+ * exactly as it ran. Installed by wrapping the application's {@link DataSource}; outside
+ * {@link #record} every statement runs unrecorded.
+ */
+final class BindRecorder {
+
+    private static final ThreadLocal<List<Execution>> RECORDED = new ThreadLocal<>();
+
+    private BindRecorder() {
+    }
+
+    /**
+     * Wraps every {@link DataSource} bean so its prepared statements can be recorded.
+     *
+     * @return the bean post processor
+     */
+    static BeanPostProcessor dataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+            }
+        };
+    }
+
+    /**
+     * Run an action and collect every prepared statement it executes on the current thread.
+     *
+     * @param action the action
+     * @return the executions in order
+     */
+    static List<Execution> record(Runnable action) {
+        List<Execution> executions = new ArrayList<>();
+        RECORDED.set(executions);
+        try {
+            action.run();
+        } finally {
+            RECORDED.remove();
+        }
+        return executions;
+    }
+
+    private static DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection(), BindRecorder::onConnectionCall);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password), BindRecorder::onConnectionCall);
+            }
+        };
+    }
+
+    private static Object onConnectionCall(Object connection, Method method, Object[] args) throws Throwable {
+        Object result = invoke(connection, method, args);
+        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+            return proxy(PreparedStatement.class, statement, new StatementHandler((String) args[0]));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> interceptor.intercept(target, method, args);
+        return (T) Proxy.newProxyInstance(BindRecorder.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Interceptor {
+
+        Object intercept(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static final class StatementHandler implements Interceptor {
+
+        private final String sql;
+        private final Map<Integer, Object> binds = new TreeMap<>();
+
+        private StatementHandler(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public Object intercept(Object statement, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                binds.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if ((args == null || args.length == 0) && name.startsWith("execute")) {
+                List<Execution> executions = RECORDED.get();
+                if (executions != null) {
+                    executions.add(new Execution(sql, binds.values().toArray()));
+                }
+            }
+            return invoke(statement, method, args);
+        }
+    }
+
+    /**
+     * A prepared statement as executed: its SQL and the values bound to it, in parameter order.
+     */
+    static final class Execution {
+
+        private final String sql;
+        private final Object[] binds;
+
+        private Execution(String sql, Object[] binds) {
+            this.sql = sql;
+            this.binds = binds;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        Object[] getBinds() {
+            return binds;
+        }
+
+        @Override
+        public String toString() {
+            return sql + "\n-- binds: " + Arrays.toString(binds);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.webeditor.api.perf;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic bulk loader of users and contents for scale benchmarks.
+ *
+ * <p>Every generated row is a pure function of the seed and its index, so a dataset grown to
+ * 10k rows and later to 1M rows is identical to one generated at 1M directly, and two runs with
+ * the same seed produce the same data on PostgreSQL and H2. Authors follow a Zipf distribution,
+ * so a few users own most contents as on a real site, and body lengths are log-normal with a long
+ * tail. Rows are inserted with JDBC batches, bypassing Hibernate.
+ *
+ * <p>Generated users are recognised by their username prefix; the database should otherwise be
+ * empty, as the content count is taken from the whole table.
+ */
+public class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    static final String USER_PREFIX = "gen-user-";
+
+    /**
+     * A word that appears in about one title in a thousand, for selective title searches.
+     */
+    static final String RARE_WORD = "quasar";
+
+    static final String[] WORDS = {
+        "editor", "spring", "java", "release", "guide", "notes", "draft", "review", "design", "api",
+        "database", "index", "cache", "latency", "thread", "memory", "query", "schema", "deploy", "build",
+        "team", "weekly", "update", "plan", "roadmap", "feature", "bug", "report", "summary", "meeting",
+        "product", "launch", "customer", "feedback", "metrics", "growth", "budget", "hiring", "onboarding",
+        "security", "incident", "postmortem", "migration", "upgrade", "performance", "testing", "quality",
+        "tutorial", "example", "template", "checklist", "proposal", "research", "analysis", "insight",
+        "story", "travel", "recipe", "garden", "music", "photo", "video", "essay", "letter"
+    };
+
+    static final String[] STATUSES = {"PUBLISHED", "DRAFT", "ARCHIVED"};
+    private static final double[] STATUS_CDF = {0.6, 0.95, 1.0};
+
+    private static final String[] TAGS = {
+        "java", "spring", "postgres", "tutorial", "news", "howto", "opinion", "internal", "review", "draft"
+    };
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final int SECONDS_BETWEEN_CONTENTS = 3;
+    private static final int MIN_BODY = 50;
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long seed;
+    private final int userCount;
+    private final int maxBody;
+    private final int batchSize;
+    private final double[] authorCdf;
+    private final String text;
+
+    private List<Long> userIds = List.of();
+
+    /**
+     * Create a generator.
+     *
+     * @param jdbcTemplate template on the target database
+     * @param seed         seed of every random choice
+     * @param userCount    number of generated users
+     * @param skew         Zipf exponent of the author distribution; 0 spreads contents evenly
+     * @param maxBody      longest body, in characters
+     * @param batchSize    rows per JDBC batch
+     */
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, long seed, int userCount, double skew, int maxBody,
+                            int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seed = seed;
+        this.userCount = userCount;
+        this.maxBody = maxBody;
+        this.batchSize = batchSize;
+        this.authorCdf = zipfCdf(userCount, skew);
+        this.text = buildText(new SplittableRandom(seed), maxBody * 2);
+    }
+
+    /**
+     * Insert the generated users that do not exist yet.
+     *
+     * @return ids of the generated users, most prolific author first
+     */
+    public List<Long> ensureUsers() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM users WHERE username LIKE ?", Integer.class, USER_PREFIX + "%");
+        if (existing == null || existing < userCount) {
+            // One hash for everyone: hashing a million passwords would dominate the load time
+            String password = new BCryptPasswordEncoder().encode("password123");
+            List<Object[]> rows = new ArrayList<>(batchSize);
+            for (int rank = existing == null ? 0 : existing; rank < userCount; rank++) {
+                String username = username(rank);
+                rows.add(new Object[] {username, password, username + "@example.com", "ROLE_USER"});
+                if (rows.size() == batchSize) {
+                    insertUsers(rows);
+                }
+            }
+            insertUsers(rows);
+        }
+        userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE username LIKE ? ORDER BY username", Long.class, USER_PREFIX + "%");
+        return userIds;
+    }
+
+    /**
+     * Grow the contents table to at least the given number of rows.
+     *
+     * @param target number of rows wanted
+     * @return number of rows in the table afterwards
+     */
+    public long ensureContents(long target) {
+        if (userIds.isEmpty()) {
+            ensureUsers();
+        }
+        long existing = countContents();
+        if (existing >= target) {
+            return existing;
+        }
+        log.info("Generating contents {} to {}", existing, target);
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (long index = existing; index < target; index++) {
+            rows.add(contentRow(index));
+            if (rows.size() == batchSize) {
+                insertContents(rows);
+            }
+            if ((index + 1) % PROGRESS_INTERVAL == 0) {
+                log.info("Generated {} contents", index + 1);
+            }
+        }
+        insertContents(rows);
+        return countContents();
+    }
+
+    /**
+     * Count the rows of the contents table.
+     *
+     * @return row count
+     */
+    public long countContents() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM contents", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Draw an author rank from the skewed author distribution.
+     *
+     * @param random the random source
+     * @return rank between 0 (most contents) and the user count
+     */
+    public int sampleAuthorRank(SplittableRandom random) {
+        int rank = Arrays.binarySearch(authorCdf, random.nextDouble());
+        return Math.min(rank < 0 ? -rank - 1 : rank, userCount - 1);
+    }
+
+    Object[] contentRow(long index) {
+        // An independent stream per row keeps rows stable however the load is split into runs
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        LocalDateTime createdAt = EPOCH.plusSeconds(index * SECONDS_BETWEEN_CONTENTS
+                + random.nextInt(SECONDS_BETWEEN_CONTENTS));
+        LocalDateTime updatedAt = random.nextDouble() < 0.3
+                ? createdAt.plusMinutes(random.nextInt(60 * 24 * 30))
+                : createdAt;
+        return new Object[] {
+            title(random),
+            body(random),
+            status(random),
+            userIds.get(sampleAuthorRank(random)),
+            Timestamp.valueOf(createdAt),
+            Timestamp.valueOf(updatedAt),
+            tags(random)
+        };
+    }
+
+    private static String username(int rank) {
+        return String.format("%s%07d", USER_PREFIX, rank);
+    }
+
+    private static String title(SplittableRandom random) {
+        int words = 3 + random.nextInt(5);
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (i == 0) {
+                title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                title.append(' ').append(word);
+            }
+        }
+        if (random.nextInt(1000) == 0) {
+            title.append(' ').append(RARE_WORD);
+        }
+        return title.toString();
+    }
+
+    private String body(SplittableRandom random) {
+        // Log-normal around 800 characters: mostly short posts with a long tail of articles
+        double length = Math.exp(Math.log(800) + random.nextGaussian());
+        int bodyLength = (int) Math.max(MIN_BODY, Math.min(maxBody, length));
+        int offset = random.nextInt(text.length() - bodyLength);
+        return text.substring(offset, offset + bodyLength);
+    }
+
+    private static String status(SplittableRandom random) {
+        double value = random.nextDouble();
+        for (int i = 0; i < STATUS_CDF.length; i++) {
+            if (value < STATUS_CDF[i]) {
+                return STATUSES[i];
+            }
+        }
+        return STATUSES[STATUSES.length - 1];
+    }
+
+    private static String tags(SplittableRandom random) {
+        int count = random.nextInt(4);
+        if (count == 0) {
+            return null;
+        }
+        StringBuilder tags = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                tags.append(',');
+            }
+            tags.append(TAGS[random.nextInt(TAGS.length)]);
+        }
+        return tags.toString();
+    }
+
+    private void insertUsers(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO users (username, password, email, role) VALUES (?, ?, ?, ?)", rows);
+            rows.clear();
+        }
+    }
+
+    private void insertContents(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO contents (title, body, status, author_id, created_at, updated_at,"
+                    + " tags, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", rows);
+            rows.clear();
+        }
+    }
+
+    private static double[] zipfCdf(int size, double skew) {
+        double[] cdf = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, skew);
+            cdf[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cdf[rank] /= total;
+        }
+        return cdf;
+    }
+
+    private static String buildText(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length + 32);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+            text.append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,169 @@
+package com.webeditor.api.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-model HTTP benchmark: a fixed number of clients, each sending its next request as soon as
+ * the previous one completes.
+ *
+ * <p>Clients run on virtual threads, so thousands of concurrent connections cost the client
+ * almost nothing and the server's request handling is what gets measured. Prints throughput and
+ * latency percentiles after a warmup period.
+ *
+ * <pre>
+ * ./gradlew httpBenchmark -PbenchmarkArgs="--url http://localhost:8080/api/contents?size=20
+ *     --token &lt;jwt&gt; --concurrency 1000 --duration 60s --warmup 15s --think 0ms --label virtual"
+ * </pre>
+ */
+public final class HttpBenchmark {
+
+    private HttpBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8080/api/contents?size=20"));
+        String token = options.get("token");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "500"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "60s"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "15s"));
+        String label = options.getOrDefault("label", "run");
+        // Pause between a client's requests, to model many mostly idle (slow) clients
+        Duration think = parseDuration(options.getOrDefault("think", "0ms"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(60))
+                .GET();
+        if (token != null) {
+            requestBuilder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = requestBuilder.build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> runClient(client, request, think, measureFrom, end, errors)));
+            }
+            List<long[]> latencies = new ArrayList<>(concurrency);
+            for (Future<long[]> worker : workers) {
+                latencies.add(worker.get());
+            }
+            report(label, concurrency, duration, merge(latencies), errors.get());
+        }
+    }
+
+    private static long[] runClient(HttpClient client, HttpRequest request, Duration think, long measureFrom,
+                                    long end, AtomicLong errors) throws InterruptedException {
+        long[] latencies = new long[1024];
+        int count = 0;
+        long now = System.nanoTime();
+        while (now < end) {
+            long sent = now;
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (Exception e) {
+                ok = false;
+            }
+            now = System.nanoTime();
+            if (sent >= measureFrom && now < end) {
+                if (!ok) {
+                    errors.incrementAndGet();
+                } else {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = now - sent;
+                }
+            }
+            if (!think.isZero()) {
+                Thread.sleep(think);
+                now = System.nanoTime();
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static long[] merge(List<long[]> parts) {
+        long[] all = new long[parts.stream().mapToInt(part -> part.length).sum()];
+        int offset = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, all, offset, part.length);
+            offset += part.length;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static void report(String label, int concurrency, Duration duration, long[] sorted, long errors) {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf(Locale.ROOT, "%n== %s: %d clients, %s measured ==%n", label, concurrency, duration);
+        System.out.printf(Locale.ROOT, "requests   %d (errors %d)%n", sorted.length, errors);
+        System.out.printf(Locale.ROOT, "throughput %.1f req/s%n", sorted.length / seconds);
+        if (sorted.length > 0) {
+            System.out.printf(Locale.ROOT,
+                    "latency    p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 90)),
+                    millis(percentile(sorted, 99)), millis(percentile(sorted, 99.9)),
+                    millis(sorted[sorted.length - 1]));
+        }
+    }
+
+    static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1));
+        return switch (trimmed.charAt(trimmed.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --name value pairs, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
@@ -0,0 +1,147 @@
+package com.webeditor.api.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ * A load test scenario: arrival rates, operation mix and setup, read from
+ * {@code scenarios/<name>.properties} on the perf classpath, with command line overrides.
+ */
+final class LoadScenario {
+
+    /**
+     * What one arrival does.
+     */
+    enum Operation {
+        LIST, GET, SEARCH, CREATE, AUTOSAVE, LOGIN, SIGNUP;
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final String name;
+    private final Properties properties;
+    private final Operation[] operations;
+    private final double[] operationCdf;
+
+    private LoadScenario(String name, Properties properties) {
+        this.name = name;
+        this.properties = properties;
+        Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            double weight = Double.parseDouble(properties.getProperty("weight." + operation.key(), "0"));
+            if (weight > 0) {
+                weights.put(operation, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Scenario " + name + " has no operation with a positive weight");
+        }
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        operations = weights.keySet().toArray(new Operation[0]);
+        operationCdf = new double[operations.length];
+        double cumulative = 0;
+        for (int i = 0; i < operations.length; i++) {
+            cumulative += weights.get(operations[i]) / total;
+            operationCdf[i] = cumulative;
+        }
+    }
+
+    /**
+     * Load a scenario and apply overrides.
+     *
+     * @param name      scenario name, i.e. the properties file name without extension
+     * @param overrides scenario keys given on the command line; other keys are ignored
+     * @return the scenario
+     * @throws IOException if the scenario cannot be read
+     */
+    static LoadScenario load(String name, Map<String, String> overrides) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = LoadScenario.class.getResourceAsStream("/scenarios/" + name + ".properties")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown scenario: " + name);
+            }
+            properties.load(in);
+        }
+        overrides.forEach(properties::setProperty);
+        return new LoadScenario(name, properties);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    double[] getRates() {
+        return Arrays.stream(properties.getProperty("rates", "50").split(","))
+                .mapToDouble(rate -> Double.parseDouble(rate.trim()))
+                .toArray();
+    }
+
+    Duration getWarmup() {
+        return duration("warmup", "15s");
+    }
+
+    Duration getDuration() {
+        return duration("duration", "60s");
+    }
+
+    boolean isPoisson() {
+        return !"uniform".equalsIgnoreCase(properties.getProperty("arrival", "poisson"));
+    }
+
+    long getSeed() {
+        return Long.parseLong(properties.getProperty("seed", "42"));
+    }
+
+    Duration getSloP99() {
+        return duration("slo-p99", "500ms");
+    }
+
+    double getMaxErrorRate() {
+        return Double.parseDouble(properties.getProperty("max-error-rate", "0.01"));
+    }
+
+    int getUsers() {
+        return Integer.parseInt(properties.getProperty("users", "50"));
+    }
+
+    int getSeedContents() {
+        return Integer.parseInt(properties.getProperty("seed-contents", "20"));
+    }
+
+    int getAutosaveUpdates() {
+        return Integer.parseInt(properties.getProperty("autosave.updates", "5"));
+    }
+
+    Duration getAutosaveInterval() {
+        return duration("autosave.interval", "2s");
+    }
+
+    /**
+     * Draw the operation of the next arrival from the weighted mix.
+     *
+     * @param random the random source
+     * @return the operation
+     */
+    Operation nextOperation(SplittableRandom random) {
+        double value = random.nextDouble();
+        for (int i = 0; i < operationCdf.length; i++) {
+            if (value < operationCdf[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private Duration duration(String key, String defaultValue) {
+        return HttpBenchmark.parseDuration(properties.getProperty(key, defaultValue));
+    }
+}
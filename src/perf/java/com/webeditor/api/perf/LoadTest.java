@@ -0,0 +1,470 @@
+package com.webeditor.api.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load test of the REST API: requests start at a given arrival rate whether or not
+ * earlier ones have completed, as with real users.
+ *
+ * <p>Latency is measured from when a request was scheduled to start rather than when it was
+ * sent, so time a request would have spent waiting behind a stalled server is counted instead of
+ * hidden (coordinated omission). The arrival sequence and every random choice come from the
+ * scenario seed, so runs of the same scenario are comparable across releases.
+ *
+ * <p>Each scenario is a ramp of arrival rates. The ramp stops at the first rate whose p99 exceeds
+ * the SLO or whose error rate is too high, and the last rate that passed is reported as the
+ * capacity. Unless {@code --url} is given, the application jar is started on its own port
+ * against the database configured by the usual environment variables, with rate limiting off.
+ *
+ * <pre>
+ * ./gradlew loadTest -PbenchmarkArgs="--scenario mixed"
+ * ./gradlew loadTest -PbenchmarkArgs="--scenario autosave --rates 20,40 --duration 30s"
+ * ./gradlew loadTest -PbenchmarkArgs="--url http://staging:8080 --scenario mixed"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+    private static final int MAX_OUTSTANDING = 20_000;
+    private static final String PASSWORD = "load-test-password";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = HttpBenchmark.parseOptions(args);
+        LoadScenario scenario = LoadScenario.load(options.getOrDefault("scenario", "mixed"), options);
+        File outDir = new File(options.getOrDefault("out", "build/reports/load-test"));
+        if (!outDir.isDirectory() && !outDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + outDir);
+        }
+
+        String url = options.get("url");
+        Process server = null;
+        if (url == null) {
+            String port = options.getOrDefault("port", "18080");
+            server = startServer(options.get("jar"), port, options.getOrDefault("jvm-args", ""), outDir);
+            url = "http://localhost:" + port;
+        }
+        try {
+            ApiClient api = new ApiClient(url);
+            waitUntilUp(api, server);
+            Workload workload = setUp(api, scenario);
+
+            List<Map<String, Object>> steps = new ArrayList<>();
+            double capacity = 0;
+            for (double rate : scenario.getRates()) {
+                Step step = new Step(scenario, rate);
+                step.run(api, workload);
+                step.print();
+                step.writeHistogram(new File(outDir, String.format(Locale.ROOT, "%s-%.0f.hgrm",
+                        scenario.getName(), rate)));
+                steps.add(step.toMap());
+                if (!step.meetsSlo()) {
+                    break;
+                }
+                capacity = rate;
+            }
+
+            System.out.printf(Locale.ROOT, "%nCapacity of %s: %.0f arrivals/s with p99 <= %d ms%n",
+                    scenario.getName(), capacity, scenario.getSloP99().toMillis());
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("scenario", scenario.getName());
+            summary.put("url", url);
+            summary.put("sloP99Ms", scenario.getSloP99().toMillis());
+            summary.put("capacity", capacity);
+            summary.put("steps", steps);
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(new File(outDir, scenario.getName() + "-summary.json"), summary);
+        } finally {
+            if (server != null) {
+                server.destroy();
+                if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                    server.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private static Process startServer(String jar, String port, String jvmArgs, File outDir) throws IOException {
+        if (jar == null) {
+            throw new IllegalArgumentException("Give --url of a running server or --jar of the application");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(List.of(jvmArgs.trim().isEmpty() ? new String[0] : jvmArgs.trim().split("\\s+")));
+        command.addAll(List.of("-jar", jar, "--server.port=" + port,
+                // Per-user limits would cap the test at a few requests per second per user, and load
+                // shedding would make the capacity the point where the limiter starts answering 503
+                "--app.rate-limit.enabled=false", "--app.concurrency-limit.enabled=false"));
+        File log = new File(outDir, "server.log");
+        System.out.printf(Locale.ROOT, "Starting %s on port %s (log: %s)%n", jar, port, log);
+        Process server = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::destroy));
+        return server;
+    }
+
+    private static void waitUntilUp(ApiClient api, Process server) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (!api.isUp()) {
+            if (server != null && !server.isAlive()) {
+                throw new IllegalStateException("Server exited with " + server.exitValue() + ", see server.log");
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Server did not become healthy within 2 minutes");
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    private static Workload setUp(ApiClient api, LoadScenario scenario) throws Exception {
+        // Unique per run, so repeated runs against the same database do not collide
+        String prefix = "lt" + Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36) + "-";
+        int users = scenario.getUsers();
+        String[] usernames = new String[users];
+        String[] tokens = new String[users];
+        Queue<Long> contentIds = new ConcurrentLinkedQueue<>();
+        System.out.printf(Locale.ROOT, "Signing up %d users with %d contents each%n", users,
+                scenario.getSeedContents());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> setups = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                int user = i;
+                setups.add(executor.submit(() -> {
+                    usernames[user] = prefix + user;
+                    expectSuccess(api.signup(usernames[user], PASSWORD), "signup");
+                    tokens[user] = expectSuccess(api.login(usernames[user], PASSWORD), "login")
+                            .field("token").asText();
+                    SplittableRandom random = new SplittableRandom(scenario.getSeed() + user);
+                    for (int c = 0; c < scenario.getSeedContents(); c++) {
+                        ApiClient.Response created = expectSuccess(
+                                api.create(tokens[user], title(random), body(random)), "create");
+                        contentIds.add(created.field("id").asLong());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> setup : setups) {
+                setup.get();
+            }
+        }
+        long[] ids = contentIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Workload(prefix, usernames, tokens, ids);
+    }
+
+    private static ApiClient.Response expectSuccess(ApiClient.Response response, String what) {
+        if (!response.isSuccessful()) {
+            throw new IllegalStateException("Setup " + what + " failed with status " + response.getStatus());
+        }
+        return response;
+    }
+
+    private static String title(SplittableRandom random) {
+        int words = 3 + random.nextInt(4);
+        StringBuilder title = new StringBuilder("Load test");
+        for (int i = 0; i < words; i++) {
+            title.append(' ').append(DatasetGenerator.WORDS[random.nextInt(DatasetGenerator.WORDS.length)]);
+        }
+        return title.toString();
+    }
+
+    private static String body(SplittableRandom random) {
+        int length = 200 + random.nextInt(3800);
+        StringBuilder body = new StringBuilder(length + 16);
+        while (body.length() < length) {
+            body.append(DatasetGenerator.WORDS[random.nextInt(DatasetGenerator.WORDS.length)]).append(' ');
+        }
+        return body.toString();
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return HttpBenchmark.millis(nanos);
+    }
+
+    /**
+     * Users, tokens and contents created during setup.
+     */
+    private static final class Workload {
+
+        private final String prefix;
+        private final String[] usernames;
+        private final String[] tokens;
+        private final long[] contentIds;
+        private final AtomicLong signups = new AtomicLong();
+
+        private Workload(String prefix, String[] usernames, String[] tokens, long[] contentIds) {
+            this.prefix = prefix;
+            this.usernames = usernames;
+            this.tokens = tokens;
+            this.contentIds = contentIds;
+        }
+    }
+
+    /**
+     * One blocking API call.
+     */
+    @FunctionalInterface
+    private interface Call {
+
+        ApiClient.Response send() throws IOException, InterruptedException;
+    }
+
+    /**
+     * One arrival rate of the ramp, with its measurements.
+     */
+    private static final class Step {
+
+        private final LoadScenario scenario;
+        private final double rate;
+        private final Map<LoadScenario.Operation, Histogram> responseTimes = new EnumMap<>(
+                LoadScenario.Operation.class);
+        private final Map<LoadScenario.Operation, LongAdder> errors = new EnumMap<>(LoadScenario.Operation.class);
+        private final Histogram total = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final Histogram serviceTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+        private final LongAdder dropped = new LongAdder();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private long measureFrom;
+        private long end;
+
+        private Step(LoadScenario scenario, double rate) {
+            this.scenario = scenario;
+            this.rate = rate;
+            for (LoadScenario.Operation operation : LoadScenario.Operation.values()) {
+                responseTimes.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3));
+                errors.put(operation, new LongAdder());
+            }
+        }
+
+        void run(ApiClient api, Workload workload) {
+            System.out.printf(Locale.ROOT, "%nRunning %s at %.1f arrivals/s (warmup %s, measured %s)%n",
+                    scenario.getName(), rate, scenario.getWarmup(), scenario.getDuration());
+            // Same arrivals and choices at every rate, so steps differ only in pace
+            SplittableRandom random = new SplittableRandom(scenario.getSeed());
+            double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            long start = System.nanoTime();
+            measureFrom = start + scenario.getWarmup().toNanos();
+            end = measureFrom + scenario.getDuration().toNanos();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                double next = start;
+                while (next < end) {
+                    long intended = (long) next;
+                    sleepUntil(intended);
+                    LoadScenario.Operation operation = scenario.nextOperation(random);
+                    SplittableRandom arrivalRandom = random.split();
+                    if (outstanding.get() >= MAX_OUTSTANDING) {
+                        // The server is hopelessly behind; count the arrival as failed instead of piling up
+                        if (intended >= measureFrom) {
+                            dropped.increment();
+                        }
+                    } else {
+                        outstanding.incrementAndGet();
+                        executor.submit(() -> {
+                            try {
+                                perform(api, workload, operation, arrivalRandom, intended);
+                            } finally {
+                                outstanding.decrementAndGet();
+                            }
+                            return null;
+                        });
+                    }
+                    next += scenario.isPoisson()
+                            ? -Math.log(1 - random.nextDouble()) * meanGapNanos
+                            : meanGapNanos;
+                }
+            }
+        }
+
+        private void perform(ApiClient api, Workload workload, LoadScenario.Operation operation,
+                             SplittableRandom random, long intended) throws InterruptedException {
+            int user = random.nextInt(workload.tokens.length);
+            String token = workload.tokens[user];
+            switch (operation) {
+                case LIST -> call(operation, intended, () -> api.list(token, random.nextInt(5), 20));
+                case GET -> {
+                    long id = workload.contentIds[random.nextInt(workload.contentIds.length)];
+                    call(operation, intended, () -> api.get(token, id));
+                }
+                case SEARCH -> {
+                    String keyword = DatasetGenerator.WORDS[random.nextInt(DatasetGenerator.WORDS.length)];
+                    call(operation, intended, () -> api.search(token, keyword));
+                }
+                case CREATE -> call(operation, intended, () -> api.create(token, title(random), body(random)));
+                case LOGIN -> call(operation, intended, () -> api.login(workload.usernames[user], PASSWORD));
+                case SIGNUP -> {
+                    String username = workload.prefix + "s" + workload.signups.incrementAndGet();
+                    call(operation, intended, () -> api.signup(username, PASSWORD));
+                }
+                case AUTOSAVE -> autosave(api, token, random, intended);
+                default -> throw new IllegalStateException("Unknown operation " + operation);
+            }
+        }
+
+        /**
+         * Create a document, then save it at the autosave interval with If-Match, like an open editor.
+         */
+        private void autosave(ApiClient api, String token, SplittableRandom random, long intended)
+                throws InterruptedException {
+            String title = title(random);
+            ApiClient.Response response = call(LoadScenario.Operation.AUTOSAVE, intended,
+                    () -> api.create(token, title, body(random)));
+            if (response == null || !response.isSuccessful()) {
+                return;
+            }
+            long id;
+            try {
+                id = response.field("id").asLong();
+            } catch (IOException e) {
+                return;
+            }
+            long interval = scenario.getAutosaveInterval().toNanos();
+            for (int save = 1; save <= scenario.getAutosaveUpdates(); save++) {
+                long due = intended + save * interval;
+                if (due >= end) {
+                    return;
+                }
+                sleepUntil(due);
+                String eTag = response.getETag();
+                String body = body(random);
+                response = call(LoadScenario.Operation.AUTOSAVE, due, () -> api.update(token, id, eTag, title, body));
+                if (response == null || !response.isSuccessful()) {
+                    return;
+                }
+            }
+        }
+
+        private ApiClient.Response call(LoadScenario.Operation operation, long intended, Call call)
+                throws InterruptedException {
+            long sent = System.nanoTime();
+            ApiClient.Response response;
+            try {
+                response = call.send();
+            } catch (IOException e) {
+                response = null;
+            }
+            long completed = System.nanoTime();
+            if (intended >= measureFrom && intended < end) {
+                long responseTime = Math.min(completed - intended, HIGHEST_TRACKABLE_NANOS);
+                responseTimes.get(operation).recordValue(responseTime);
+                total.recordValue(responseTime);
+                serviceTimes.recordValue(Math.min(completed - sent, HIGHEST_TRACKABLE_NANOS));
+                if (response == null || !response.isSuccessful()) {
+                    errors.get(operation).increment();
+                }
+            }
+            return response;
+        }
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum() + dropped.sum();
+        }
+
+        boolean meetsSlo() {
+            long requests = total.getTotalCount() + dropped.sum();
+            double errorRate = requests == 0 ? 1 : (double) errorCount() / requests;
+            return errorRate <= scenario.getMaxErrorRate()
+                    && total.getValueAtPercentile(99) <= scenario.getSloP99().toNanos();
+        }
+
+        void print() {
+            double seconds = scenario.getDuration().toNanos() / 1e9;
+            long requests = total.getTotalCount();
+            System.out.printf(Locale.ROOT, "requests %d, throughput %.1f req/s, errors %d, dropped %d%n",
+                    requests, requests / seconds, errorCount(), dropped.sum());
+            System.out.printf(Locale.ROOT, "%-10s %8s %7s %9s %9s %9s %9s %9s%n",
+                    "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (LoadScenario.Operation operation : LoadScenario.Operation.values()) {
+                Histogram histogram = responseTimes.get(operation);
+                if (histogram.getTotalCount() > 0) {
+                    printRow(operation.key(), histogram, errors.get(operation).sum());
+                }
+            }
+            printRow("total", total, errorCount());
+            System.out.printf(Locale.ROOT, "service time without schedule delay: p99 %.2f ms%n",
+                    millis(serviceTimes.getValueAtPercentile(99)));
+            System.out.println(meetsSlo() ? "SLO met" : "SLO missed");
+        }
+
+        private static void printRow(String name, Histogram histogram, long errorCount) {
+            System.out.printf(Locale.ROOT, "%-10s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, histogram.getTotalCount(), errorCount,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        void writeHistogram(File file) throws IOException {
+            try (PrintStream out = new PrintStream(file, "UTF-8")) {
+                // Milliseconds, loadable into the HdrHistogram plotter
+                total.outputPercentileDistribution(out, 1e6);
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("rate", rate);
+            step.put("throughput", total.getTotalCount() / (scenario.getDuration().toNanos() / 1e9));
+            step.put("errors", errorCount());
+            step.put("dropped", dropped.sum());
+            step.put("sloMet", meetsSlo());
+            step.put("serviceP99Ms", millis(serviceTimes.getValueAtPercentile(99)));
+            step.put("total", percentiles(total, errorCount()));
+            Map<String, Object> operations = new LinkedHashMap<>();
+            for (LoadScenario.Operation operation : LoadScenario.Operation.values()) {
+                Histogram histogram = responseTimes.get(operation);
+                if (histogram.getTotalCount() > 0) {
+                    operations.put(operation.key(), percentiles(histogram, errors.get(operation).sum()));
+                }
+            }
+            step.put("operations", operations);
+            return step;
+        }
+
+        private static Map<String, Object> percentiles(Histogram histogram, long errorCount) {
+            Map<String, Object> percentiles = new LinkedHashMap<>();
+            percentiles.put("count", histogram.getTotalCount());
+            percentiles.put("errors", errorCount);
+            percentiles.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+            percentiles.put("p90Ms", millis(histogram.getValueAtPercentile(90)));
+            percentiles.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+            percentiles.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+            percentiles.put("maxMs", millis(histogram.getMaxValue()));
+            return percentiles;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.webeditor.api.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.webeditor.api.entity.Content;
+import com.webeditor.api.entity.User;
+import com.webeditor.api.metrics.CountingStatementInspector;
+import com.webeditor.api.repository.ContentRepository;
+import com.webeditor.api.repository.UserRepository;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Runs the {@code ContentRepository} queries behind the list and search endpoints at growing
+ * table sizes, and records latency percentiles and the query plan of each.
+ *
+ * <p>The dataset comes from {@link DatasetGenerator} and is grown in place from one scale to the
+ * next, so use a dedicated database. Only JPA, the repositories and Flyway are started; none of
+ * the application's services, caches or indexes are. After the timed calls, one more call of each
+ * query is made while {@link CountingStatementInspector} captures its SQL and {@link BindRecorder}
+ * the values bound to it; every statement of that call, including the count query of a
+ * {@code Page} result, is then run again under {@code EXPLAIN ANALYZE} with the same values.
+ *
+ * <pre>
+ * ./gradlew repositoryBenchmark -PbenchmarkArgs="--db postgres --scales 10000,100000,1000000,10000000"
+ * ./gradlew repositoryBenchmark -PbenchmarkArgs="--db h2 --scales 10000,100000"
+ * </pre>
+ */
+public final class RepositoryScaleBenchmark {
+
+    private static final String[] SORT_PROPERTIES = {"createdAt", "updatedAt", "title", "id", "status"};
+
+    // B-tree indexes of V2__add_query_indexes.sql; H2 runs without Flyway, as it lacks pg_trgm
+    private static final String[] H2_INDEXES = {
+        "CREATE INDEX IF NOT EXISTS idx_contents_created_at ON contents (created_at DESC)",
+        "CREATE INDEX IF NOT EXISTS idx_contents_author_created_at ON contents (author_id, created_at DESC)",
+        "CREATE INDEX IF NOT EXISTS idx_contents_status_created_at ON contents (status, created_at DESC)",
+        "CREATE INDEX IF NOT EXISTS idx_contents_author_status_created_at"
+                + " ON contents (author_id, status, created_at DESC)"
+    };
+
+    private RepositoryScaleBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = HttpBenchmark.parseOptions(args);
+        String db = options.getOrDefault("db", "postgres").toLowerCase(Locale.ROOT);
+        long[] scales = Arrays.stream(options.getOrDefault("scales", "10000,100000,1000000").split(","))
+                .mapToLong(scale -> Long.parseLong(scale.trim()))
+                .sorted()
+                .toArray();
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int users = Integer.parseInt(options.getOrDefault("users", "1000"));
+        double skew = Double.parseDouble(options.getOrDefault("skew", "1.1"));
+        int maxBody = Integer.parseInt(options.getOrDefault("max-body", "32000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "20"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "200"));
+        int pageSize = Integer.parseInt(options.getOrDefault("page-size", "20"));
+        File out = new File(options.getOrDefault("out", "build/reports/repository-scale/results.json"));
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BenchmarkConfig.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF);
+        List<Map<String, Object>> results = new ArrayList<>();
+        // As command line arguments, so they take precedence over application.yml
+        try (ConfigurableApplicationContext context = builder.run(properties(db))) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            ContentRepository contentRepository = context.getBean(ContentRepository.class);
+            if ("h2".equals(db)) {
+                for (String index : H2_INDEXES) {
+                    jdbcTemplate.execute(index);
+                }
+            }
+
+            DatasetGenerator generator = new DatasetGenerator(jdbcTemplate, seed, users, skew, maxBody, 1000);
+            List<User> authors = new ArrayList<>(
+                    context.getBean(UserRepository.class).findAllById(generator.ensureUsers()));
+            authors.sort(Comparator.comparing(User::getUsername));
+            List<QueryCase> cases = queryCases(contentRepository, generator, authors, pageSize);
+            String explain = "h2".equals(db) ? "EXPLAIN ANALYZE " : "EXPLAIN (ANALYZE, BUFFERS) ";
+
+            for (long scale : scales) {
+                long rows = generator.ensureContents(scale);
+                if (rows > scale) {
+                    System.out.printf(Locale.ROOT, "%nSkipping scale %d: the table already has %d rows%n", scale, rows);
+                    continue;
+                }
+                jdbcTemplate.execute("ANALYZE");
+                System.out.printf(Locale.ROOT, "%n== %s, %d contents ==%n", db, rows);
+                for (QueryCase queryCase : cases) {
+                    results.add(run(queryCase, rows, warmup, iterations, seed, jdbcTemplate, explain));
+                }
+            }
+        }
+
+        File directory = out.getAbsoluteFile().getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + directory);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(out, results);
+        System.out.printf(Locale.ROOT, "%nResults and plans written to %s%n", out);
+    }
+
+    private static Map<String, Object> run(QueryCase queryCase, long rows, int warmup, int iterations, long seed,
+                                           JdbcTemplate jdbcTemplate, String explain) {
+        // Same parameter sequence at every scale, so scales differ only in table size
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < warmup; i++) {
+            queryCase.query.accept(random);
+        }
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            queryCase.query.accept(random);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        List<String> plans = new ArrayList<>();
+        for (BindRecorder.Execution statement : issuedStatements(() -> queryCase.query.accept(random))) {
+            List<String> lines = jdbcTemplate.query(explain + statement.getSql(), (rs, rowNum) -> rs.getString(1),
+                    statement.getBinds());
+            plans.add(statement + "\n" + String.join("\n", lines));
+        }
+
+        double p50 = HttpBenchmark.millis(HttpBenchmark.percentile(latencies, 50));
+        double p90 = HttpBenchmark.millis(HttpBenchmark.percentile(latencies, 90));
+        double p99 = HttpBenchmark.millis(HttpBenchmark.percentile(latencies, 99));
+        double max = HttpBenchmark.millis(latencies[latencies.length - 1]);
+        System.out.printf(Locale.ROOT, "%-44s p50 %9.2f ms  p90 %9.2f ms  p99 %9.2f ms  max %9.2f ms%n",
+                queryCase.name, p50, p90, p99, max);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("query", queryCase.name);
+        result.put("rows", rows);
+        result.put("iterations", iterations);
+        result.put("p50Ms", p50);
+        result.put("p90Ms", p90);
+        result.put("p99Ms", p99);
+        result.put("maxMs", max);
+        result.put("plans", plans);
+        return result;
+    }
+
+    /**
+     * Run one call of a query and get the statements Hibernate issued for it, with their values.
+     */
+    private static List<BindRecorder.Execution> issuedStatements(Runnable call) {
+        List<String> prepared = new ArrayList<>();
+        List<BindRecorder.Execution> executed = BindRecorder.record(
+                () -> prepared.addAll(CountingStatementInspector.capture(call)));
+        return executed.stream()
+                .filter(execution -> prepared.contains(execution.getSql()))
+                .toList();
+    }
+
+    private static List<QueryCase> queryCases(ContentRepository repository, DatasetGenerator generator,
+                                              List<User> authors, int pageSize) {
+        Pageable newest = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+        User topAuthor = authors.get(0);
+
+        List<QueryCase> cases = new ArrayList<>();
+        for (String property : SORT_PROPERTIES) {
+            Pageable pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, property));
+            cases.add(new QueryCase("findAll sort=" + property, random -> repository.findAll(pageable)));
+        }
+        Pageable deepPage = PageRequest.of(500, pageSize, Sort.by(Sort.Direction.DESC, "createdAt"));
+        cases.add(new QueryCase("findAll sort=createdAt page=500", random -> repository.findAll(deepPage)));
+
+        cases.add(new QueryCase("findByAuthor top author",
+                random -> repository.findByAuthor(topAuthor, newest)));
+        cases.add(new QueryCase("findByAuthor sampled author",
+                random -> repository.findByAuthor(authors.get(generator.sampleAuthorRank(random)), newest)));
+
+        cases.add(new QueryCase("findByStatus",
+                random -> repository.findByStatus(
+                        DatasetGenerator.STATUSES[random.nextInt(DatasetGenerator.STATUSES.length)], newest)));
+
+        cases.add(new QueryCase("findByTitleContaining common word",
+                random -> repository.findByTitleContaining(
+                        DatasetGenerator.WORDS[random.nextInt(DatasetGenerator.WORDS.length)], newest)));
+        cases.add(new QueryCase("findByTitleContaining rare word",
+                random -> repository.findByTitleContaining(DatasetGenerator.RARE_WORD, newest)));
+        return cases;
+    }
+
+    private static String[] properties(String db) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", "false");
+        switch (db) {
+            case "postgres" ->
+                // Lets the driver turn each JDBC batch into multi-row INSERTs
+                properties.put("spring.datasource.hikari.data-source-properties.reWriteBatchedInserts", "true");
+            case "h2" -> {
+                properties.put("spring.datasource.url", "jdbc:h2:file:./build/repository-scale/h2");
+                properties.put("spring.datasource.username", "sa");
+                properties.put("spring.datasource.password", "");
+                properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+                properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+                properties.put("spring.jpa.hibernate.ddl-auto", "update");
+                properties.put("spring.flyway.enabled", "false");
+            }
+            default -> throw new IllegalArgumentException("Unsupported database: " + db + " (postgres or h2)");
+        }
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Just the persistence layer: the repositories, JPA and Flyway, without the application's
+     * components.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Content.class)
+    @EnableJpaRepositories(basePackageClasses = ContentRepository.class)
+    static class BenchmarkConfig {
+
+        @Bean
+        static BeanPostProcessor bindRecordingDataSource() {
+            return BindRecorder.dataSourceWrapper();
+        }
+    }
+
+    private static final class QueryCase {
+
+        private final String name;
+        private final Consumer<SplittableRandom> query;
+
+        private QueryCase(String name, Consumer<SplittableRandom> query) {
+            this.name = name;
+            this.query = query;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.webeditor.api.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the application repeatedly and measures how long it takes to answer its first request
+ * and how much memory it holds by then.
+ *
+ * <p>Modes:
+ * <ul>
+ *   <li>{@code jar}: the boot jar as deployed</li>
+ *   <li>{@code jar-aot}: the boot jar with the bean definitions generated by {@code processAot}</li>
+ *   <li>{@code cds}: the unnested jar of {@code cdsJar} with the archive of {@code cdsArchive}</li>
+ *   <li>{@code cds-aot}: both; train the archive with {@code -PaotEnabled=true} for this one</li>
+ * </ul>
+ * CDS modes are skipped until {@code ./gradlew cdsArchive} has run. Every start uses the database
+ * configured by the usual environment variables.
+ *
+ * <pre>
+ * ./gradlew cdsArchive startupBenchmark -PbenchmarkArgs="--runs 5"
+ * ./gradlew startupBenchmark -PbenchmarkArgs="--modes jar,jar-aot --app-args --springdoc.api-docs.enabled=false"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final long TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = HttpBenchmark.parseOptions(args);
+        File jar = new File(options.get("jar"));
+        File cdsDir = new File(options.getOrDefault("cds-dir", "build/cds"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "18081"));
+        List<String> modes = split(options.getOrDefault("modes", "jar,jar-aot,cds,cds-aot"));
+        List<String> appArgs = split(options.getOrDefault("app-args", ""));
+        List<String> jvmArgs = split(options.getOrDefault("jvm-args", ""));
+        File outDir = new File(options.getOrDefault("out", "build/reports/startup"));
+        if (!outDir.isDirectory() && !outDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + outDir);
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        File archive = new File(cdsDir, "application.jsa");
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        System.out.printf(Locale.ROOT, "%-8s %6s %12s %12s %12s%n", "mode", "runs", "first req ms", "started ms",
+                "RSS MB");
+        for (String mode : modes) {
+            boolean cds = mode.startsWith("cds");
+            if (cds && !archive.isFile()) {
+                System.out.printf(Locale.ROOT, "%-8s skipped: run ./gradlew cdsArchive first%n", mode);
+                continue;
+            }
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmArgs);
+            if (mode.endsWith("-aot")) {
+                command.add("-Dspring.aot.enabled=true");
+            }
+            if (cds) {
+                command.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+                command.addAll(List.of("-jar", new File(cdsDir, "app.jar").getAbsolutePath()));
+            } else {
+                command.addAll(List.of("-jar", jar.getAbsolutePath()));
+            }
+            command.add("--server.port=" + port);
+            command.addAll(appArgs);
+
+            long[] firstRequest = new long[runs];
+            long[] started = new long[runs];
+            long[] rss = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                File log = new File(outDir, mode + "-" + run + ".log");
+                long[] sample = startOnce(command, client, probe, log);
+                firstRequest[run] = sample[0];
+                started[run] = sample[1];
+                rss[run] = sample[2];
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("mode", mode);
+            result.put("runs", runs);
+            result.put("firstRequestMedianMs", HttpBenchmark.millis(median(firstRequest)));
+            result.put("firstRequestMinMs", HttpBenchmark.millis(Arrays.stream(firstRequest).min().orElse(0)));
+            result.put("startedMedianMs", median(started));
+            result.put("rssMedianMb", median(rss) / 1024.0);
+            results.add(result);
+            System.out.printf(Locale.ROOT, "%-8s %6d %12.0f %12d %12.1f%n", mode, runs,
+                    HttpBenchmark.millis(median(firstRequest)), median(started), median(rss) / 1024.0);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(new File(outDir, "results.json"), results);
+    }
+
+    /**
+     * Start the application once and stop it after its first successful response.
+     *
+     * @return time to first response in nanoseconds, Spring's reported startup time in
+     *         milliseconds (-1 if not logged) and resident set size in kilobytes (-1 if unknown)
+     */
+    private static long[] startOnce(List<String> command, HttpClient client, HttpRequest probe, File log)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            while (!isUp(client, probe)) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() - start > TIMEOUT_NANOS) {
+                    throw new IllegalStateException("Application did not answer within 2 minutes, see " + log);
+                }
+                Thread.sleep(5);
+            }
+            long firstRequest = System.nanoTime() - start;
+            long rss = residentSetKb(process.pid());
+            return new long[] {firstRequest, startedMillis(log), rss};
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean isUp(HttpClient client, HttpRequest probe) throws InterruptedException {
+        try {
+            return client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long residentSetKb(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (Files.isReadable(status)) {
+            for (String line : Files.readAllLines(status, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        }
+        // macOS and other systems without procfs
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", String.valueOf(pid)).start();
+        String output = new String(ps.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        return output.isEmpty() ? -1 : Long.parseLong(output);
+    }
+
+    private static long startedMillis(File log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log.toPath(), StandardCharsets.UTF_8));
+        return matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : -1;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .toList();
+    }
+}
@@ -0,0 +1,89 @@
+package com.webeditor.api.cache;
+
+import com.webeditor.api.event.ContentChangedEvent;
+import com.webeditor.api.event.ContentSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for PostgresInvalidationBus.
+ */
+class PostgresInvalidationBusTest {
+
+    @Test
+    void whenEncodeAndDecode_thenKeepOriginAndKeys() {
+        List<String> payloads = PostgresInvalidationBus.encode("node-1", List.of("c:1", "c:2", "c:3"), 7000);
+
+        assertThat(payloads).containsExactly("node-1;c:1,c:2,c:3");
+        PostgresInvalidationBus.Message message = PostgresInvalidationBus.decode(payloads.get(0));
+        assertThat(message.getOrigin()).isEqualTo("node-1");
+        assertThat(message.getKeys()).containsExactly("c:1", "c:2", "c:3");
+    }
+
+    @Test
+    void whenPartitionsDetached_thenAllKeyRoundTrips() {
+        List<String> payloads = PostgresInvalidationBus.encode("node-1",
+                List.of("c:1", PostgresInvalidationBus.ALL_KEY), 7000);
+
+        assertThat(PostgresInvalidationBus.decode(payloads.get(0)).getKeys())
+                .contains(PostgresInvalidationBus.ALL_KEY);
+    }
+
+    @Test
+    void whenKeysExceedPayloadLimit_thenSplitIntoSeveralPayloads() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            keys.add("c:" + i);
+        }
+
+        List<String> payloads = PostgresInvalidationBus.encode("node-1", keys, 1000);
+
+        assertThat(payloads).hasSizeGreaterThan(1)
+                .allSatisfy(payload -> assertThat(payload).hasSizeLessThanOrEqualTo(1000));
+        List<String> decoded = new ArrayList<>();
+        payloads.forEach(payload -> decoded.addAll(PostgresInvalidationBus.decode(payload).getKeys()));
+        assertThat(decoded).isEqualTo(keys);
+    }
+
+    @Test
+    void whenOneKeyExceedsPayloadLimit_thenSendAllKeyInstead() {
+        String longKey = "c:1:" + "x".repeat(1000);
+
+        List<String> payloads = PostgresInvalidationBus.encode("node-1", List.of("c:2", longKey, "c:3"), 1000);
+
+        assertThat(payloads).containsExactly("node-1;" + PostgresInvalidationBus.ALL_KEY);
+        assertThat(PostgresInvalidationBus.decode(payloads.get(0)).getKeys())
+                .containsExactly(PostgresInvalidationBus.ALL_KEY);
+    }
+
+    @Test
+    void whenContentKeyParsed_thenSnapshotsRoundTrip() {
+        ContentChangedEvent update = new ContentChangedEvent(
+                new ContentSnapshot(42L, 7L, "DRAFT", null),
+                new ContentSnapshot(42L, 7L, "PUBLISHED", "java, spring;boot:3/x"));
+
+        String key = PostgresInvalidationBus.contentKey(update);
+        ContentChangedEvent parsed = PostgresInvalidationBus.parseContentKey(key);
+
+        assertThat(key).startsWith("c:42:").doesNotContain(",", ";");
+        assertThat(parsed.getContentId()).isEqualTo(42L);
+        assertThat(parsed.getPrevious()).usingRecursiveComparison().isEqualTo(update.getPrevious());
+        assertThat(parsed.getCurrent()).usingRecursiveComparison().isEqualTo(update.getCurrent());
+
+        ContentChangedEvent deletion = PostgresInvalidationBus.parseContentKey(PostgresInvalidationBus.contentKey(
+                new ContentChangedEvent(new ContentSnapshot(42L, 7L, "PUBLISHED", "java"), null)));
+        assertThat(deletion.isDeletion()).isTrue();
+        assertThat(deletion.getPrevious().getTags()).isEqualTo("java");
+    }
+
+    @Test
+    void whenPayloadMalformed_thenIgnore() {
+        assertThat(PostgresInvalidationBus.decode("no-separator")).isNull();
+        assertThat(PostgresInvalidationBus.decode(null)).isNull();
+        assertThat(PostgresInvalidationBus.encode("node-1", List.of(), 7000)).isEmpty();
+    }
+}
@@ -0,0 +1,86 @@
+package com.webeditor.api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.webeditor.api.dto.ContentResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for PublishedContentCache.
+ */
+class PublishedContentCacheTest {
+
+    private PublishedContentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PublishedContentCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_000_000L);
+    }
+
+    @Test
+    void whenPut_thenServeIdentityAndGzipOfSameJson() throws IOException {
+        cache.put(content(1L), cache.stamp());
+
+        PublishedContentCache.CachedContent cached = cache.get(1L);
+
+        assertThat(cached).isNotNull();
+        assertThat(new String(cached.getIdentity())).contains("\"title\":\"Published\"");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(cached.getGzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(cached.getIdentity());
+        }
+    }
+
+    @Test
+    void whenInvalidatedAfterStamp_thenStaleLoadIsNotCached() {
+        long stamp = cache.stamp();
+        cache.invalidate(1L);
+
+        PublishedContentCache.CachedContent served = cache.put(content(1L), stamp);
+
+        assertThat(served).isNotNull();
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void whenOverCapacity_thenEvictEntries() {
+        ReflectionTestUtils.setField(cache, "maxBytes", 1L);
+
+        cache.put(content(1L), cache.stamp());
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void whenParseAcceptEncoding_thenHonourQualityValues() {
+        assertThat(PublishedContentCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(PublishedContentCache.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+        assertThat(PublishedContentCache.acceptsGzip("*")).isTrue();
+        assertThat(PublishedContentCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(PublishedContentCache.acceptsGzip("identity")).isFalse();
+        assertThat(PublishedContentCache.acceptsGzip(null)).isFalse();
+        assertThat(PublishedContentCache.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(PublishedContentCache.acceptsGzip("*;q=0, gzip")).isTrue();
+        assertThat(PublishedContentCache.acceptsGzip("*;q=0")).isFalse();
+    }
+
+    private static ContentResponse content(Long id) {
+        return ContentResponse.builder()
+                .id(id)
+                .title("Published")
+                .body("Body")
+                .status(PublishedContentCache.PUBLISHED)
+                .authorUsername("testuser")
+                .version(0L)
+                .build();
+    }
+}
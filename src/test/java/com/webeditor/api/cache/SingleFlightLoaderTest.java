@@ -0,0 +1,114 @@
+package com.webeditor.api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for SingleFlightLoader.
+ */
+class SingleFlightLoaderTest {
+
+    @Test
+    void whenConcurrentMisses_thenLoadOnce() throws Exception {
+        SingleFlightLoader<Long, String> loader =
+                new SingleFlightLoader<>(Duration.ZERO, Duration.ZERO, 100, Runnable::run);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 50;
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> loader.get(1L, id -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "content-" + id;
+                })));
+            }
+            while (loads.get() == 0) {
+                Thread.onSpinWait();
+            }
+            // Give the other callers time to join the in-flight load
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("content-1");
+            }
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(loader.inFlightCount()).isZero();
+    }
+
+    @Test
+    void whenLoadFails_thenRethrowAndRetryNextTime() {
+        SingleFlightLoader<Long, String> loader =
+                new SingleFlightLoader<>(Duration.ZERO, Duration.ZERO, 100, Runnable::run);
+
+        assertThatThrownBy(() -> loader.get(1L, id -> {
+            throw new RuntimeException("Content not found with id: " + id);
+        })).hasMessageContaining("not found");
+        assertThat(loader.get(1L, id -> "content")).isEqualTo("content");
+    }
+
+    @Test
+    void whenExpiredWithStaleWhileRevalidate_thenServeStaleAndRefreshOnce() {
+        List<Runnable> refreshes = new ArrayList<>();
+        SingleFlightLoader<Long, String> loader =
+                new SingleFlightLoader<>(Duration.ofNanos(1), Duration.ofMinutes(1), 100, refreshes::add);
+        AtomicInteger version = new AtomicInteger();
+        loader.get(1L, id -> "v" + version.incrementAndGet());
+
+        assertThat(loader.get(1L, id -> "v" + version.incrementAndGet())).isEqualTo("v1");
+        assertThat(loader.get(1L, id -> "v" + version.incrementAndGet())).isEqualTo("v1");
+        assertThat(refreshes).hasSize(1);
+        refreshes.get(0).run();
+        assertThat(loader.get(1L, id -> "v" + version.incrementAndGet())).isEqualTo("v2");
+        assertThat(version.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenInvalidatedWithStaleWhileRevalidate_thenNeverServeInvalidatedValue() {
+        SingleFlightLoader<Long, String> loader =
+                new SingleFlightLoader<>(Duration.ofMinutes(1), Duration.ofMinutes(1), 100, Runnable::run);
+        loader.get(1L, id -> "v1");
+
+        loader.invalidate(1L);
+
+        assertThatThrownBy(() -> loader.get(1L, id -> {
+            throw new RuntimeException("Content not found with id: " + id);
+        })).hasMessageContaining("not found");
+        assertThat(loader.size()).isZero();
+    }
+
+    @Test
+    void whenInvalidatedWithoutStaleWhileRevalidate_thenReload() {
+        SingleFlightLoader<Long, String> loader =
+                new SingleFlightLoader<>(Duration.ofMinutes(1), Duration.ZERO, 100, Runnable::run);
+        loader.get(1L, id -> "v1");
+
+        loader.invalidate(1L);
+
+        assertThat(loader.get(1L, id -> "v2")).isEqualTo("v2");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.webeditor.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.webeditor.api.cache.PublishedContentCache;
+import com.webeditor.api.entity.Content;
+import com.webeditor.api.entity.User;
+import com.webeditor.api.repository.ContentRepository;
+import com.webeditor.api.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for reading single contents through ContentController.
+ *
+ * <p>Not transactional: contents are loaded outside any caller transaction, so the test data
+ * is committed and deleted again after each test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ContentByIdControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private PublishedContentCache publishedContentCache;
+
+    private User reader;
+
+    private Content published;
+
+    @BeforeEach
+    void setUp() {
+        reader = userRepository.save(User.builder()
+                .username("reader")
+                .email("reader@example.com")
+                .password("password123")
+                .role("ROLE_USER")
+                .build());
+        published = contentRepository.save(Content.builder()
+                .title("Read me")
+                .body("Body of Read me")
+                .status("PUBLISHED")
+                .author(reader)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        contentRepository.delete(published);
+        userRepository.delete(reader);
+    }
+
+    @Test
+    void whenGetContentByIdAsSmile_thenBypassesJsonCache() throws Exception {
+        // The first request fills the published content cache with JSON bytes
+        mockMvc.perform(get("/api/contents/" + published.getId()).with(user(reader)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        byte[] body = mockMvc.perform(get("/api/contents/" + published.getId())
+                        .header("Accept", "application/x-jackson-smile").with(user(reader)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andExpect(header().string("ETag", "\"" + published.getVersion() + "-smile\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode content = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(content.get("id").asLong()).isEqualTo(published.getId());
+        assertThat(content.get("title").asText()).isEqualTo("Read me");
+    }
+
+    @Test
+    void whenGetContentByIdAsJson_thenMissAndHitSendSameValidators() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            // The first request loads the content, the second is answered from the published cache
+            mockMvc.perform(get("/api/contents/" + published.getId()).with(user(reader)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                    .andExpect(header().string("ETag", "\"" + published.getVersion() + "\""));
+        }
+    }
+
+    @Test
+    void whenMissThenHit_thenEachLookupCountedOnce() throws Exception {
+        long hits = publishedContentCache.hitCount();
+        long misses = publishedContentCache.missCount();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/contents/" + published.getId()).with(user(reader)))
+                    .andExpect(status().isOk());
+        }
+
+        assertThat(publishedContentCache.missCount() - misses).isEqualTo(1);
+        assertThat(publishedContentCache.hitCount() - hits).isEqualTo(1);
+    }
+
+    @Test
+    void whenCachedContentGzipped_thenTaggedApartFromIdentity() throws Exception {
+        mockMvc.perform(get("/api/contents/" + published.getId()).with(user(reader)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/contents/" + published.getId())
+                        .header("Accept-Encoding", "gzip").with(user(reader)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"" + published.getVersion() + "-gzip\""));
+    }
+
+    @Test
+    void whenContentRead_thenCountedInViewsAndTrendingFromMemory() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/contents/" + published.getId()).with(user(reader)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/contents/" + published.getId() + "/views").with(user(reader)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.views").value(3));
+        // QueryBudget(0): the test profile fails the request if trending touches the database
+        mockMvc.perform(get("/api/contents/trending").param("limit", "100").with(user(reader)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.contentId == " + published.getId() + ")].views").value(3));
+    }
+}
@@ -0,0 +1,208 @@
+package com.webeditor.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.webeditor.api.dto.ContentPage;
+import com.webeditor.api.entity.Content;
+import com.webeditor.api.entity.User;
+import com.webeditor.api.repository.ContentRepository;
+import com.webeditor.api.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for ContentController.
+ *
+ * <p>The test profile fails any request exceeding its {@code @QueryBudget}, so these tests break
+ * when listing contents starts loading authors one by one again.
+ */
+@SpringBootTest(properties = {"app.profiling.server-timing=true", "app.profiling.sample-rate=1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ContentControllerTest {
+
+    private static final String UPDATE_BODY = "{\"title\":\"Updated\",\"body\":\"Updated body\",\"status\":\"DRAFT\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User alice;
+
+    private Content aliceContent;
+
+    @BeforeEach
+    void setUp() {
+        alice = userRepository.save(newUser("alice"));
+        User bob = userRepository.save(newUser("bob"));
+        for (int i = 0; i < 3; i++) {
+            Content saved = contentRepository.save(newContent("Alice post " + i, alice));
+            if (i == 0) {
+                aliceContent = saved;
+            }
+            contentRepository.save(newContent("Bob post " + i, bob));
+        }
+        // Start requests from an empty persistence context, as in production
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void whenGetAllContents_thenAuthorsAreFetchedWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/api/contents").param("size", "10").with(user(alice)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(6))
+                .andExpect(jsonPath("$.content[*].authorUsername").isNotEmpty())
+                .andExpect(header().exists("Server-Timing"));
+    }
+
+    @Test
+    void whenGetContentsByStatus_thenAuthorsAreFetchedWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/api/contents/status/PUBLISHED").with(user(alice)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(6));
+    }
+
+    @Test
+    void whenSearchContents_thenAuthorsAreFetchedWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/api/contents/search").param("keyword", "post").with(user(alice)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(6));
+    }
+
+    @Test
+    void whenGetMyContents_thenWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/api/contents/my").with(user(alice)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].authorUsername").value("alice"));
+    }
+
+    @Test
+    void whenSearchContentsAsContentPage_thenWritesCompactEnvelope() throws Exception {
+        mockMvc.perform(get("/api/contents/search").param("keyword", "Alice")
+                        .accept(ContentPage.MEDIA_TYPE).with(user(alice)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ContentPage.MEDIA_TYPE))
+                .andExpect(header().string("Vary", "Accept"))
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].authorUsername").value("alice"))
+                .andExpect(jsonPath("$.content[0].createdAt").isString())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.totalPages").value(1))
+                .andExpect(jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    void whenAcceptListsJsonBeforeContentPage_thenStillWritesCompactEnvelopeWithoutEntities() throws Exception {
+        mockMvc.perform(get("/api/contents/search").param("keyword", "Alice")
+                        .header("Accept", "application/json, " + ContentPage.MEDIA_TYPE_VALUE).with(user(alice)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(ContentPage.MEDIA_TYPE))
+                .andExpect(jsonPath("$.content.length()").value(3))
+                .andExpect(jsonPath("$.content[0].authorUsername").value("alice"))
+                .andExpect(jsonPath("$.content[0].author").doesNotExist())
+                .andExpect(content().string(not(containsString("password"))));
+    }
+
+    @Test
+    void whenSearchContentsAsCbor_thenBodyDecodesToSamePage() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/contents/search").param("keyword", "Alice")
+                        .accept(MediaType.APPLICATION_CBOR).with(user(alice)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertThat(page.get("content")).hasSize(3);
+        assertThat(page.get("content").get(0).get("authorUsername").asText()).isEqualTo("alice");
+        assertThat(page.get("content").get(0).get("createdAt").isTextual()).isTrue();
+        assertThat(page.get("totalElements").asLong()).isEqualTo(3);
+    }
+
+    @Test
+    void whenIfMatchIsWeakTag_thenPreconditionFailed() throws Exception {
+        Long version = aliceContent.getVersion();
+
+        mockMvc.perform(put("/api/contents/{id}", aliceContent.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE_BODY)
+                        .header("If-Match", "W/\"" + version + "\"")
+                        .with(user(alice)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"" + version + "\""));
+    }
+
+    @Test
+    void whenIfMatchListContainsCurrentVersion_thenUpdated() throws Exception {
+        Long version = aliceContent.getVersion();
+
+        mockMvc.perform(put("/api/contents/{id}", aliceContent.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE_BODY)
+                        .header("If-Match", "\"" + (version + 5) + "\", W/\"" + version + "\", \"" + version + "\"")
+                        .with(user(alice)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Updated"))
+                .andExpect(header().string("ETag", "\"" + (version + 1) + "\""));
+    }
+
+    @Test
+    void whenIfMatchListLacksCurrentVersion_thenPreconditionFailed() throws Exception {
+        Long version = aliceContent.getVersion();
+
+        mockMvc.perform(put("/api/contents/{id}", aliceContent.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(UPDATE_BODY)
+                        .header("If-Match", "\"" + (version + 1) + "\", \"" + (version + 2) + "\"")
+                        .with(user(alice)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private static User newUser(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("password123")
+                .role("ROLE_USER")
+                .build();
+    }
+
+    private static Content newContent(String title, User author) {
+        return Content.builder()
+                .title(title)
+                .body("Body of " + title)
+                .status("PUBLISHED")
+                .author(author)
+                .build();
+    }
+}
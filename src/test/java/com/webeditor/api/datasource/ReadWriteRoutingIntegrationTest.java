@@ -0,0 +1,114 @@
+package com.webeditor.api.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webeditor.api.dto.LoginRequest;
+import com.webeditor.api.dto.SignupRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for read/write routing through the full request and JPA stack.
+ *
+ * <p>Both pools point at the same in-memory database; each tags its connections with an
+ * {@code @POOL} session variable so a request can tell which pool served a transaction.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.connection-init-sql=SET @POOL = 'primary'",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.minimum-idle=1",
+        "app.datasource.replica.connection-init-sql=SET @POOL = 'replica'"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ReadWriteRoutingIntegrationTest.RoutingProbeController.class)
+class ReadWriteRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void whenWriteFollowsReadOnlyTransactionInOneRequest_thenWriteRunsOnPrimary() throws Exception {
+        mockMvc.perform(post("/test/routing/read-then-write").with(user("router")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.read").value("replica"))
+                .andExpect(jsonPath("$.write").value("primary"));
+    }
+
+    @Test
+    void whenLoginRightAfterSignup_thenUserIsFound() throws Exception {
+        SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setUsername("routed");
+        signupRequest.setEmail("routed@example.com");
+        signupRequest.setPassword("password123");
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(signupRequest)))
+                .andExpect(status().isOk());
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("routed");
+        loginRequest.setPassword("password123");
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists());
+    }
+
+    /**
+     * Runs a read-only transaction and then a read-write one within a single request, reporting
+     * the pool each of them ran on.
+     */
+    @RestController
+    static class RoutingProbeController {
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @PostMapping("/test/routing/read-then-write")
+        public Map<String, Object> readThenWrite() {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            Object read = readOnly.execute(status -> currentPool());
+
+            Object write = new TransactionTemplate(transactionManager).execute(status -> {
+                entityManager.createNativeQuery("UPDATE users SET role = role WHERE 1 = 0")
+                        .executeUpdate();
+                return currentPool();
+            });
+            return Map.of("read", read, "write", write);
+        }
+
+        private Object currentPool() {
+            return entityManager.createNativeQuery("SELECT @POOL").getSingleResult();
+        }
+    }
+}
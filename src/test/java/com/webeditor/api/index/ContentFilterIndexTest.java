@@ -0,0 +1,85 @@
+package com.webeditor.api.index;
+
+import com.webeditor.api.event.ContentChangedEvent;
+import com.webeditor.api.event.ContentSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for ContentFilterIndex.
+ */
+class ContentFilterIndexTest {
+
+    private ContentFilterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ContentFilterIndex();
+        create(1L, 10L, "DRAFT", "java,spring");
+        create(2L, 10L, "PUBLISHED", "java");
+        create(3L, 20L, "PUBLISHED", "Java, Kotlin");
+        create(4L, 20L, "PUBLISHED", null);
+    }
+
+    @Test
+    void whenQueryWithoutFilters_thenReturnAllNewestFirst() {
+        ContentFilterIndex.FilterResult result = index.query(null, null, null, 0, 10);
+
+        assertThat(result.getIds()).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(result.getTotal()).isEqualTo(4);
+    }
+
+    @Test
+    void whenQueryWithCombinedFilters_thenReturnIntersection() {
+        ContentFilterIndex.FilterResult result = index.query(null, "PUBLISHED", List.of("java"), 0, 10);
+
+        assertThat(result.getIds()).containsExactly(3L, 2L);
+        assertThat(result.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void whenQueryWithOffset_thenSkipMatchesButCountAll() {
+        ContentFilterIndex.FilterResult result = index.query(20L, null, null, 1, 10);
+
+        assertThat(result.getIds()).containsExactly(3L);
+        assertThat(result.getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    void whenQueryUnknownTag_thenReturnEmpty() {
+        ContentFilterIndex.FilterResult result = index.query(10L, null, List.of("rust"), 0, 10);
+
+        assertThat(result.getIds()).isEmpty();
+        assertThat(result.getTotal()).isZero();
+    }
+
+    @Test
+    void whenContentUpdated_thenOldValuesAreRemoved() {
+        index.onContentChanged(new ContentChangedEvent(
+                new ContentSnapshot(1L, 10L, "DRAFT", "java,spring"),
+                new ContentSnapshot(1L, 10L, "PUBLISHED", "spring")));
+
+        assertThat(index.query(null, "DRAFT", null, 0, 10).getTotal()).isZero();
+        assertThat(index.query(10L, "PUBLISHED", List.of("java"), 0, 10).getIds()).containsExactly(2L);
+        assertThat(index.query(null, null, List.of("spring"), 0, 10).getIds()).containsExactly(1L);
+    }
+
+    @Test
+    void whenContentDeleted_thenItNoLongerMatches() {
+        index.onContentChanged(new ContentChangedEvent(
+                new ContentSnapshot(4L, 20L, "PUBLISHED", null), null));
+
+        ContentFilterIndex.FilterResult result = index.query(20L, "PUBLISHED", null, 0, 10);
+
+        assertThat(result.getIds()).containsExactly(3L);
+        assertThat(result.getTotal()).isEqualTo(1);
+    }
+
+    private void create(Long id, Long authorId, String status, String tags) {
+        index.onContentChanged(new ContentChangedEvent(null, new ContentSnapshot(id, authorId, status, tags)));
+    }
+}
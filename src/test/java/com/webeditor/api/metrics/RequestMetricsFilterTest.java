@@ -0,0 +1,113 @@
+package com.webeditor.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for RequestMetricsFilter.
+ */
+class RequestMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestMetricsFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        ReflectionTestUtils.setField(filter, "slowThreshold", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void whenRequestRunsStatements_thenRecordCountsPerEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/contents/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestProfile.statementPrepared("select 1");
+            RequestProfile.statementPrepared("select 1");
+            RequestProfile.entityLoaded();
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/contents/{id}");
+        });
+
+        DistributionSummary statements = meterRegistry.get("webeditor.request.statements")
+                .tag("uri", "/api/contents/{id}").summary();
+        DistributionSummary entityLoads = meterRegistry.get("webeditor.request.entity.loads")
+                .tag("uri", "/api/contents/{id}").summary();
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(entityLoads.totalAmount()).isEqualTo(1);
+        assertThat(RequestProfile.current()).isNull();
+    }
+
+    @Test
+    void whenPhasesRecorded_thenRenderServerTiming() throws Exception {
+        AtomicReference<String> serverTiming = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/contents"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    RequestProfile profile = RequestProfile.current();
+                    profile.handlerStarted();
+                    profile.repositoryCalled(2_000_000);
+                    RequestProfile.statementPrepared("select 1");
+                    RequestProfile.stop(RequestProfile.Phase.MAPPING, RequestProfile.start() - 1_000_000);
+                    serverTiming.set(profile.serverTiming());
+                });
+
+        assertThat(serverTiming.get())
+                .startsWith("chain;dur=")
+                .contains("db;dur=2.00;desc=\"1 calls, 1 statements\"")
+                .contains("map;dur=")
+                .contains("app;dur=")
+                .doesNotContain("ser;dur=");
+    }
+
+    @Test
+    void whenSampleRateIsZero_thenProfileNotSampled() throws Exception {
+        AtomicReference<RequestProfile> profile = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/contents"), new MockHttpServletResponse(),
+                (req, res) -> profile.set(RequestProfile.current()));
+        assertThat(profile.get().isSampled()).isFalse();
+
+        ReflectionTestUtils.setField(filter, "sampleRate", 1.0);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/contents"), new MockHttpServletResponse(),
+                (req, res) -> profile.set(RequestProfile.current()));
+        assertThat(profile.get().isSampled()).isTrue();
+    }
+
+    @Test
+    void whenMillisAppended_thenTwoDecimalsRoundedHalfUp() {
+        assertThat(millis(0)).isEqualTo("0.00");
+        assertThat(millis(4_999)).isEqualTo("0.00");
+        assertThat(millis(5_000)).isEqualTo("0.01");
+        assertThat(millis(90_000)).isEqualTo("0.09");
+        assertThat(millis(2_000_000)).isEqualTo("2.00");
+        assertThat(millis(1_234_567_890)).isEqualTo("1234.57");
+    }
+
+    @Test
+    void whenOutsideRequest_thenCountsAreIgnored() {
+        RequestProfile.statementPrepared("select 1");
+
+        assertThat(RequestProfile.current()).isNull();
+        assertThat(RequestProfile.start()).isZero();
+    }
+
+    private static String millis(long nanos) {
+        StringBuilder rendered = new StringBuilder();
+        RequestProfile.appendMillis(rendered, nanos);
+        return rendered.toString();
+    }
+}
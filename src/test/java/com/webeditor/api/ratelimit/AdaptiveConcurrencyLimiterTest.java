@@ -0,0 +1,103 @@
+package com.webeditor.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for AdaptiveConcurrencyLimiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void whenLimitReached_thenShedLowerPrioritiesFirst() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 1.5, 600, 1);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.BULK)).isPositive();
+        }
+        assertThat(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.BULK)).isZero();
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.INTERACTIVE)).isPositive();
+        }
+        assertThat(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.INTERACTIVE)).isZero();
+        assertThat(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL)).isPositive();
+        assertThat(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL)).isZero();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    void whenAdmitted_thenInFlightIncludesTheRequest() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 1.5, 600, 1);
+
+        assertThat(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL)).isEqualTo(1);
+        int second = limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL);
+        assertThat(second).isEqualTo(2);
+        limiter.release(10 * MILLIS, second);
+
+        assertThat(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL)).isEqualTo(2);
+    }
+
+    @Test
+    void whenLatencyStable_thenLimitGrows() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 1.5, 600, 1);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL);
+            limiter.release(10 * MILLIS, limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void whenLatencyRises_thenLimitShrinks() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100, 0.2, 1.5, 600, 1);
+        limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL);
+        limiter.release(10 * MILLIS, 50);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL);
+            limiter.release(200 * MILLIS, limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(20);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void whenFewRequestsInFlight_thenLimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100, 0.2, 1.5, 600, 1);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL);
+            limiter.release((i + 1) * 10 * MILLIS, 1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void whenWindowNotFull_thenLimitUpdatedOnlyOnceItIs() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(30, 1, 100, 0.2, 1.5, 600, 10);
+        // The first window only sets the baseline
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL);
+            limiter.release(10 * MILLIS, 30);
+        }
+
+        for (int i = 0; i < 9; i++) {
+            limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL);
+            limiter.release(10 * MILLIS, 30);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(30);
+
+        limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.CRITICAL);
+        limiter.release(10 * MILLIS, 30);
+        assertThat(limiter.getLimit()).isGreaterThan(30);
+    }
+}
@@ -0,0 +1,101 @@
+package com.webeditor.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Test class for RateLimitFilter, through the security chain and its servlet filter registration.
+ *
+ * <p>Buckets hold two requests and refill over an hour, so they stay empty for the whole test.
+ * They are shared by all tests of the context, so each test uses its own users and addresses.
+ */
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.groups[0].name=content-reads",
+        "app.rate-limit.groups[0].paths=/api/contents/**",
+        "app.rate-limit.groups[0].limit=2",
+        "app.rate-limit.groups[0].period=1h",
+        "app.rate-limit.groups[0].burst=2",
+        "app.rate-limit.groups[1].name=public-reads",
+        "app.rate-limit.groups[1].paths=/public/**",
+        "app.rate-limit.groups[1].limit=2",
+        "app.rate-limit.groups[1].period=1h",
+        "app.rate-limit.groups[1].burst=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void whenBucketIsUsedUp_thenRejectedWithRetryAfter() throws Exception {
+        mockMvc.perform(get("/api/contents").with(user("carol")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Limit", "2"))
+                .andExpect(header().string("RateLimit-Remaining", "1"))
+                .andExpect(header().string("RateLimit-Reset", matchesPattern("\\d+")))
+                .andExpect(header().string("RateLimit-Policy", "2;w=3600;burst=2"));
+        mockMvc.perform(get("/api/contents").with(user("carol")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Remaining", "0"));
+
+        mockMvc.perform(get("/api/contents").with(user("carol")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", matchesPattern("[1-9]\\d*")))
+                .andExpect(header().string("RateLimit-Remaining", "0"))
+                .andExpect(jsonPath("$.message").value("Error: Too many requests"));
+    }
+
+    @Test
+    void whenAuthenticated_thenLimitedPerUserNotPerAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/contents").with(user("dave")).with(remoteAddr("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/api/contents").with(user("dave")).with(remoteAddr("10.0.0.2")))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(get("/api/contents").with(user("erin")).with(remoteAddr("10.0.0.1")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+    }
+
+    @Test
+    void whenShareLinkRequested_thenLimitedPerAddressOutsideSecurityChain() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/public/contents/1").param("exp", "0").param("sig", "invalid")
+                            .with(remoteAddr("10.0.1.1")))
+                    .andExpect(header().string("RateLimit-Limit", "2"));
+        }
+        mockMvc.perform(get("/public/contents/1").param("exp", "0").param("sig", "invalid")
+                        .with(remoteAddr("10.0.1.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        mockMvc.perform(get("/public/contents/1").param("exp", "0").param("sig", "invalid")
+                        .with(remoteAddr("10.0.1.2")))
+                .andExpect(status().isForbidden())
+                .andExpect(header().string("RateLimit-Remaining", "1"));
+    }
+
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.webeditor.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for TokenBucketLimiter.
+ */
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void whenBurstExhausted_thenRejectUntilRefilled() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(60, Duration.ofMinutes(1), 3, 100);
+        long now = 0;
+
+        assertThat(limiter.tryAcquire("user:a", now).getRemaining()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("user:a", now).getRemaining()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("user:a", now).getRemaining()).isZero();
+        TokenBucketLimiter.Decision rejected = limiter.tryAcquire("user:a", now);
+
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRetryAfterNanos()).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire("user:a", now + SECOND).isAllowed()).isTrue();
+        assertThat(limiter.tryAcquire("user:a", now + SECOND).isAllowed()).isFalse();
+    }
+
+    @Test
+    void whenDifferentKeys_thenSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofMinutes(1), 1, 100);
+
+        assertThat(limiter.tryAcquire("user:a", 0).isAllowed()).isTrue();
+        assertThat(limiter.tryAcquire("user:a", 0).isAllowed()).isFalse();
+        assertThat(limiter.tryAcquire("ip:10.0.0.1", 0).isAllowed()).isTrue();
+    }
+
+    @Test
+    void whenMaxKeysReached_thenEvictIdleAndLetNewKeysThroughUntracked() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, Duration.ofSeconds(1), 1, 2);
+        long now = System.nanoTime();
+
+        limiter.tryAcquire("a", now);
+        limiter.tryAcquire("b", now);
+        assertThat(limiter.tryAcquire("c", now).isAllowed()).isTrue();
+        assertThat(limiter.tryAcquire("c", now).isAllowed()).isTrue();
+        assertThat(limiter.size()).isEqualTo(2);
+        // Tracked keys keep their own limit
+        assertThat(limiter.tryAcquire("a", now).isAllowed()).isFalse();
+
+        // Both buckets are full again two seconds later, so they are dropped to make room
+        limiter.tryAcquire("c", now + 2 * SECOND);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void whenLimitDiffersFromBurst_thenLimitReported() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1200, Duration.ofMinutes(1), 200, 100);
+
+        assertThat(limiter.getLimit()).isEqualTo(1200);
+        assertThat(limiter.tryAcquire("user:a", 0).getRemaining()).isEqualTo(199);
+    }
+}
@@ -0,0 +1,184 @@
+package com.webeditor.api.repository;
+
+import com.webeditor.api.entity.ContentCounter;
+import com.webeditor.api.entity.User;
+import com.webeditor.api.metrics.CountingStatementInspector;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the query plans of ContentRepository and UserRepository on PostgreSQL.
+ *
+ * <p>Runs the Flyway migrations against a real PostgreSQL, fills the tables with enough rows for
+ * the planner statistics to matter, then calls each repository method and explains every
+ * statement Hibernate issued for it, as captured by {@link CountingStatementInspector}. The plans
+ * are generic, so they hold for any bound value, and sequential scans are disabled so the planner
+ * must use an index if one exists. {@code streamIndexEntries} reads the whole table and
+ * {@code findTotalsByPrefix} the few counter rows, so both are excluded on purpose.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ContentRepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ContentCounterRepository counterRepository;
+
+    private User author;
+
+    static Stream<Arguments> repositoryQueries() {
+        Pageable page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+        LocalDateTime since = LocalDateTime.now().minusDays(30);
+        return Stream.of(
+                query("ContentRepository.findById", test -> test.contentRepository.findById(1L)),
+                query("ContentRepository.findAllWithAuthorByIdIn",
+                        test -> test.contentRepository.findAllWithAuthorByIdIn(List.of(1L, 2L, 3L))),
+                query("ContentRepository.findPageContent",
+                        test -> test.contentRepository.findPageContent(page)),
+                query("ContentRepository.findPageContentByAuthor",
+                        test -> test.contentRepository.findPageContentByAuthor(test.author, page)),
+                query("ContentRepository.findPageContentByStatus",
+                        test -> test.contentRepository.findPageContentByStatus("DRAFT", page)),
+                query("ContentRepository.findByAuthor",
+                        test -> test.contentRepository.findByAuthor(test.author, page)),
+                query("ContentRepository.countByAuthor",
+                        test -> test.contentRepository.countByAuthor(test.author)),
+                query("ContentRepository.findByStatus",
+                        test -> test.contentRepository.findByStatus("DRAFT", page)),
+                query("ContentRepository.findByAuthorAndStatus",
+                        test -> test.contentRepository.findByAuthorAndStatus(test.author, "DRAFT", page)),
+                query("ContentRepository.findByTitleContaining",
+                        test -> test.contentRepository.findByTitleContaining("content", page)),
+                query("ContentRepository.findByCreatedAtGreaterThanEqual",
+                        test -> test.contentRepository.findByCreatedAtGreaterThanEqual(since, page)),
+                query("ContentRepository.findByAuthorAndCreatedAtGreaterThanEqual",
+                        test -> test.contentRepository.findByAuthorAndCreatedAtGreaterThanEqual(
+                                test.author, since, page)),
+                query("ContentRepository.findByStatusAndCreatedAtGreaterThanEqual",
+                        test -> test.contentRepository.findByStatusAndCreatedAtGreaterThanEqual("DRAFT", since, page)),
+                query("ContentRepository.findByTitleContainingAndCreatedAtGreaterThanEqual",
+                        test -> test.contentRepository.findByTitleContainingAndCreatedAtGreaterThanEqual(
+                                "content", since, page)),
+                query("ContentRepository.countGroupedByAuthor",
+                        test -> test.contentRepository.countGroupedByAuthor()),
+                query("ContentRepository.countGroupedByStatus",
+                        test -> test.contentRepository.countGroupedByStatus()),
+                query("UserRepository.findByUsername",
+                        test -> test.userRepository.findByUsername("planuser1")),
+                query("UserRepository.existsByUsername",
+                        test -> test.userRepository.existsByUsername("planuser1")),
+                query("UserRepository.existsByEmail",
+                        test -> test.userRepository.existsByEmail("planuser1@example.com")),
+                query("ContentCounterRepository.sumTotal",
+                        test -> test.counterRepository.sumTotal(ContentCounter.TOTAL)),
+                query("ContentCounterRepository.findTotalsByPrefix",
+                        test -> test.counterRepository.findTotalsByPrefix(ContentCounter.STATUS_PREFIX))
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Enough rows that an index is cheaper than a scan for selective queries
+        entityManager.createNativeQuery("INSERT INTO users (username, password, email, role)"
+                + " SELECT 'planuser' || i, 'password', 'planuser' || i || '@example.com', 'ROLE_USER'"
+                + " FROM generate_series(1, 100) i").executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO contents (title, body, status, author_id, created_at, updated_at)"
+                + " SELECT 'Plan content ' || i, 'Body ' || i, (ARRAY['DRAFT', 'PUBLISHED', 'ARCHIVED'])[i % 3 + 1],"
+                + " (SELECT min(id) FROM users) + i % 100, now() - i * interval '1 minute', now()"
+                + " FROM generate_series(1, 20000) i").executeUpdate();
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+        // Scoped to the test transaction
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        author = userRepository.findByUsername("planuser1").orElseThrow();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void whenExplainRepositoryQuery_thenNoSequentialScan(String method, Consumer<ContentRepositoryQueryPlanTest> call) {
+        List<String> statements = CountingStatementInspector.capture(() -> call.accept(this));
+
+        assertThat(statements).as("statements of %s", method).isNotEmpty();
+        for (String sql : statements) {
+            List<String> plan = explainGeneric(sql);
+            assertThat(plan)
+                    .as("%s plan of%n%s%n%s", method, sql, String.join(System.lineSeparator(), plan))
+                    .noneMatch(line -> line.contains("Seq Scan"));
+        }
+    }
+
+    private List<String> explainGeneric(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<String> plan = new ArrayList<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberPlaceholders(sql))) {
+                while (rows.next()) {
+                    plan.add(rows.getString(1));
+                }
+            }
+            return plan;
+        });
+    }
+
+    /**
+     * Turn JDBC {@code ?} placeholders into the {@code $n} parameters PostgreSQL can explain.
+     */
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean quoted = false;
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static Arguments query(String method, Consumer<ContentRepositoryQueryPlanTest> call) {
+        return Arguments.of(method, call);
+    }
+}
@@ -0,0 +1,49 @@
+package com.webeditor.api.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for ShareLinkSigner.
+ */
+class ShareLinkSignerTest {
+
+    private ShareLinkSigner signer;
+    private long expiresAt;
+
+    @BeforeEach
+    void setUp() {
+        signer = new ShareLinkSigner();
+        ReflectionTestUtils.setField(signer, "secret", "test-secret-key-for-testing-minimum-32-characters");
+        expiresAt = Instant.now().plusSeconds(3600).getEpochSecond();
+    }
+
+    @Test
+    void whenVerifyOwnSignature_thenValid() {
+        String signature = signer.sign(1L, expiresAt);
+
+        assertThat(signer.verify(1L, expiresAt, signature)).isTrue();
+    }
+
+    @Test
+    void whenLinkIsTampered_thenInvalid() {
+        String signature = signer.sign(1L, expiresAt);
+
+        assertThat(signer.verify(2L, expiresAt, signature)).isFalse();
+        assertThat(signer.verify(1L, expiresAt + 60, signature)).isFalse();
+        assertThat(signer.verify(1L, expiresAt, "not-a-signature!")).isFalse();
+    }
+
+    @Test
+    void whenLinkIsExpired_thenInvalid() {
+        long expired = Instant.now().minusSeconds(1).getEpochSecond();
+        String signature = signer.sign(1L, expired);
+
+        assertThat(signer.verify(1L, expired, signature)).isFalse();
+    }
+}
@@ -0,0 +1,135 @@
+package com.webeditor.api.service;
+
+import com.webeditor.api.dto.ContentRequest;
+import com.webeditor.api.dto.ContentResponse;
+import com.webeditor.api.entity.ContentCounter;
+import com.webeditor.api.entity.User;
+import com.webeditor.api.repository.ContentCounterRepository;
+import com.webeditor.api.repository.ContentRepository;
+import com.webeditor.api.repository.CounterUpserts;
+import com.webeditor.api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for ContentCounterService.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ContentCounterServiceTest {
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private ContentCounterService contentCounterService;
+
+    @Autowired
+    private ContentCounterRepository counterRepository;
+
+    @Autowired
+    private CounterUpserts counterUpserts;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder()
+                .username("counteruser")
+                .email("counter@example.com")
+                .password("password123")
+                .role("ROLE_USER")
+                .build());
+    }
+
+    @Test
+    void whenContentCreated_thenCountersAreIncremented() {
+        long totalBefore = contentCounterService.getTotal();
+
+        contentService.createContent(request("DRAFT"), testUser);
+        contentService.createContent(request("PUBLISHED"), testUser);
+
+        assertThat(contentCounterService.getTotal()).isEqualTo(totalBefore + 2);
+        assertThat(contentCounterService.countByAuthor(testUser.getId())).isEqualTo(2);
+        assertThat(contentCounterService.countsByStatus()).containsEntry("PUBLISHED", 1L);
+    }
+
+    @Test
+    void whenStatusChangedAndDeleted_thenCountersFollow() {
+        ContentResponse created = contentService.createContent(request("DRAFT"), testUser);
+        long draftsBefore = contentCounterService.countByStatus("DRAFT");
+
+        contentService.updateContent(created.getId(), request("PUBLISHED"), testUser);
+
+        assertThat(contentCounterService.countByStatus("DRAFT")).isEqualTo(draftsBefore - 1);
+        assertThat(contentCounterService.countByStatus("PUBLISHED")).isEqualTo(1);
+
+        contentService.deleteContent(created.getId(), testUser);
+
+        assertThat(contentCounterService.countByStatus("PUBLISHED")).isZero();
+        assertThat(contentCounterService.countByAuthor(testUser.getId())).isZero();
+    }
+
+    @Test
+    void whenCountersDrift_thenReconcileCorrectsThem() {
+        contentService.createContent(request("DRAFT"), testUser);
+        counterUpserts.addToCounter(ContentCounter.author(testUser.getId()), 0, 5);
+        counterRepository.save(new ContentCounter(ContentCounter.status("ARCHIVED"), 0, 3));
+
+        contentCounterService.reconcile();
+
+        assertThat(contentCounterService.countByAuthor(testUser.getId())).isEqualTo(1);
+        assertThat(contentCounterService.countByStatus("ARCHIVED")).isZero();
+    }
+
+    @Test
+    void whenCountIsStriped_thenReadsAndReconcileSumTheStripes() {
+        contentService.createContent(request("DRAFT"), testUser);
+        contentCounterService.reconcile();
+        long drafts = contentCounterService.countByStatus("DRAFT");
+
+        counterRepository.save(new ContentCounter(ContentCounter.TOTAL, ContentCounter.STRIPES - 1, 4));
+        counterUpserts.addToCounter(ContentCounter.status("DRAFT"), 1, 2);
+
+        assertThat(contentCounterService.getTotal()).isEqualTo(contentRepository.count() + 4);
+        assertThat(contentCounterService.countsByStatus()).containsEntry("DRAFT", drafts + 2);
+
+        contentCounterService.reconcile();
+
+        assertThat(contentCounterService.getTotal()).isEqualTo(contentRepository.count());
+        assertThat(contentCounterService.countByStatus("DRAFT")).isEqualTo(drafts);
+    }
+
+    @Test
+    void whenStatusLooksLikeStripe_thenCountedUnderItsOwnName() {
+        contentService.createContent(request("v#2"), testUser);
+
+        assertThat(contentCounterService.countsByStatus()).containsEntry("v#2", 1L);
+        assertThat(contentCounterService.countByStatus("v")).isZero();
+
+        contentCounterService.reconcile();
+
+        assertThat(contentCounterService.countByStatus("v#2")).isEqualTo(1);
+    }
+
+    private ContentRequest request(String status) {
+        ContentRequest request = new ContentRequest();
+        request.setTitle("Counted Content");
+        request.setBody("Body");
+        request.setStatus(status);
+        return request;
+    }
+}
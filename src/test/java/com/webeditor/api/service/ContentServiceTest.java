@@ -1,9 +1,15 @@
 package com.webeditor.api.service;
 
+import com.webeditor.api.cache.LoadedContent;
+import com.webeditor.api.cache.PublishedContentCache;
+import com.webeditor.api.cache.SingleFlightLoader;
+import com.webeditor.api.dto.ContentBatchResponse;
 import com.webeditor.api.dto.ContentRequest;
 import com.webeditor.api.dto.ContentResponse;
 import com.webeditor.api.entity.Content;
 import com.webeditor.api.entity.User;
+import com.webeditor.api.event.ContentChangedEvent;
+import com.webeditor.api.exception.ContentVersionConflictException;
 import com.webeditor.api.repository.ContentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,12 +17,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +41,12 @@ class ContentServiceTest {
     @Mock
     private ContentRepository contentRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PublishedContentCache publishedContentCache;
+
     @InjectMocks
     private ContentService contentService;
 
@@ -38,6 +56,11 @@ class ContentServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(contentService, "contentLoader",
+                new SingleFlightLoader<Long, LoadedContent>(Duration.ZERO, Duration.ZERO, 0, Runnable::run));
+        ReflectionTestUtils.setField(contentService, "readOnlyTransactionOperations",
+                TransactionOperations.withoutTransaction());
+
         testUser = User.builder()
                 .id(1L)
                 .username("testuser")
@@ -53,6 +76,7 @@ class ContentServiceTest {
                 .status("DRAFT")
                 .tags("test,unit")
                 .author(testUser)
+                .version(3L)
                 .build();
 
         contentRequest = new ContentRequest();
@@ -104,6 +128,25 @@ class ContentServiceTest {
                 .hasMessageContaining("not authorized");
     }
 
+    @Test
+    void whenUpdateContentWithStaleVersion_thenThrowConflict() {
+        when(contentRepository.findById(1L)).thenReturn(Optional.of(testContent));
+
+        assertThatThrownBy(() -> contentService.updateContent(1L, contentRequest, testUser, List.of(2L)))
+                .isInstanceOf(ContentVersionConflictException.class)
+                .hasMessageContaining("current version is 3");
+        verify(contentRepository, never()).save(any(Content.class));
+    }
+
+    @Test
+    void whenDeleteContentWithStaleVersion_thenThrowConflict() {
+        when(contentRepository.findById(1L)).thenReturn(Optional.of(testContent));
+
+        assertThatThrownBy(() -> contentService.deleteContent(1L, testUser, List.of(2L)))
+                .isInstanceOf(ContentVersionConflictException.class);
+        verify(contentRepository, never()).delete(any(Content.class));
+    }
+
     @Test
     void whenDeleteContent_thenContentIsDeleted() {
         when(contentRepository.findById(1L)).thenReturn(Optional.of(testContent));
@@ -112,6 +155,7 @@ class ContentServiceTest {
 
         verify(contentRepository).findById(1L);
         verify(contentRepository).delete(testContent);
+        verify(eventPublisher).publishEvent(any(ContentChangedEvent.class));
     }
 
     @Test
@@ -134,4 +178,17 @@ class ContentServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("not found");
     }
+
+    @Test
+    void whenGetContentsByIds_thenPreserveOrderAndMissingIds() {
+        when(contentRepository.findAllWithAuthorByIdIn(any())).thenReturn(List.of(testContent));
+
+        ContentBatchResponse response = contentService.getContentsByIds(List.of(999L, 1L, 1L));
+
+        assertThat(response.getContents()).hasSize(3);
+        assertThat(response.getContents().get(0)).isNull();
+        assertThat(response.getContents().get(1).getId()).isEqualTo(1L);
+        assertThat(response.getContents().get(2).getId()).isEqualTo(1L);
+        assertThat(response.getMissingIds()).containsExactly(999L);
+    }
 }
@@ -0,0 +1,177 @@
+package com.webeditor.api.service;
+
+import com.webeditor.api.dto.ContentRequest;
+import com.webeditor.api.dto.ContentResponse;
+import com.webeditor.api.entity.User;
+import com.webeditor.api.repository.ContentViewCountRepository;
+import com.webeditor.api.repository.UserRepository;
+import com.webeditor.api.views.TrendingTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for ContentViewService.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ContentViewServiceTest {
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private ContentViewService contentViewService;
+
+    @Autowired
+    private ContentViewCountRepository viewCountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder()
+                .username("viewuser")
+                .email("view@example.com")
+                .password("password123")
+                .role("ROLE_USER")
+                .build());
+    }
+
+    @Test
+    void whenViewsRecorded_thenFlushedAsOneDeltaPerContent() {
+        ContentResponse content = contentService.createContent(request(), testUser);
+
+        for (int i = 0; i < 3; i++) {
+            contentViewService.recordView(content.getId());
+        }
+
+        assertThat(viewCountRepository.findViews(content.getId())).isEmpty();
+        assertThat(contentViewService.getViews(content.getId())).isEqualTo(3);
+
+        contentViewService.flush();
+        contentViewService.recordView(content.getId());
+
+        assertThat(viewCountRepository.findViews(content.getId())).contains(3L);
+        assertThat(contentViewService.getViews(content.getId())).isEqualTo(4);
+
+        contentViewService.flush();
+
+        assertThat(viewCountRepository.findViews(content.getId())).contains(4L);
+        assertThat(contentViewService.getTrending(100))
+                .extracting(TrendingTracker.Entry::getContentId)
+                .contains(content.getId());
+    }
+
+    @Test
+    void whenContentDeleted_thenViewsAreDroppedOnCommit() {
+        ContentResponse content = contentService.createContent(request(), testUser);
+        contentViewService.recordView(content.getId());
+        contentViewService.flush();
+        contentViewService.recordView(content.getId());
+
+        contentService.deleteContent(content.getId(), testUser);
+
+        assertThat(viewCountRepository.findViews(content.getId())).isEmpty();
+        assertThat(contentViewService.getViews(content.getId())).isEqualTo(1);
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertThat(contentViewService.getViews(content.getId())).isZero();
+        assertThat(contentViewService.getTrending(100))
+                .extracting(TrendingTracker.Entry::getContentId)
+                .doesNotContain(content.getId());
+
+        TestTransaction.start();
+        TestTransaction.flagForCommit();
+        userRepository.deleteById(testUser.getId());
+        TestTransaction.end();
+    }
+
+    @Test
+    void whenContentDeletionRolledBack_thenViewsAreKept() {
+        ContentResponse content = contentService.createContent(request(), testUser);
+        contentViewService.recordView(content.getId());
+
+        contentService.deleteContent(content.getId(), testUser);
+        TestTransaction.end();
+
+        assertThat(contentViewService.getViews(content.getId())).isEqualTo(1);
+        assertThat(contentViewService.getTrending(100))
+                .extracting(TrendingTracker.Entry::getContentId)
+                .contains(content.getId());
+    }
+
+    @Test
+    void whenFlushedAfterDeletion_thenViewsAreNotInserted() {
+        ContentResponse content = contentService.createContent(request(), testUser);
+        contentService.deleteContent(content.getId(), testUser);
+
+        contentViewService.recordView(content.getId());
+        contentViewService.flush();
+
+        assertThat(viewCountRepository.findViews(content.getId())).isEmpty();
+    }
+
+    @Test
+    void whenViewsRecordedConcurrentlyWithFlushes_thenNoneAreLost() throws Exception {
+        ContentResponse content = contentService.createContent(request(), testUser);
+        int recorders = 4;
+        int viewsPerRecorder = 5_000;
+
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(recorders)) {
+            CountDownLatch start = new CountDownLatch(1);
+            for (int i = 0; i < recorders; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int view = 0; view < viewsPerRecorder; view++) {
+                        contentViewService.recordView(content.getId());
+                        if (view % 100 == 0) {
+                            // Let flushes find the counter idle now and then
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            // Flushed on the test thread, within the transaction that created the content
+            while (!results.stream().allMatch(Future::isDone)) {
+                contentViewService.flush();
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+        contentViewService.flush();
+
+        assertThat(viewCountRepository.findViews(content.getId())).contains((long) recorders * viewsPerRecorder);
+    }
+
+    private ContentRequest request() {
+        ContentRequest request = new ContentRequest();
+        request.setTitle("Viewed Content");
+        request.setBody("Body");
+        request.setStatus("PUBLISHED");
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.webeditor.api.views;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for CountMinSketch.
+ */
+class CountMinSketchTest {
+
+    @Test
+    void whenManyKeysAdded_thenEstimatesNeverUndercountAndStayClose() {
+        CountMinSketch sketch = new CountMinSketch(1024, 4);
+        long[] counts = new long[5000];
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(counts.length);
+            counts[key]++;
+            sketch.add(key, 1);
+        }
+
+        // e / width of the total count, exceeded with probability below e^-4 per key
+        long bound = (long) Math.ceil(Math.E / 1024 * 100_000);
+        int outliers = 0;
+        for (int key = 0; key < counts.length; key++) {
+            long estimate = sketch.estimate(key);
+            assertThat(estimate).isGreaterThanOrEqualTo(counts[key]);
+            if (estimate - counts[key] > bound) {
+                outliers++;
+            }
+        }
+        assertThat(outliers).isLessThan(counts.length / 20);
+    }
+
+    @Test
+    void whenSketchSubtracted_thenOnlyRemainingCountsAreEstimated() {
+        CountMinSketch window = new CountMinSketch(256, 3);
+        CountMinSketch bucket = new CountMinSketch(256, 3);
+        window.add(1, 5);
+        window.add(2, 3);
+        bucket.add(1, 5);
+
+        window.subtract(bucket);
+        bucket.clear();
+
+        assertThat(window.estimate(1)).isZero();
+        assertThat(window.estimate(2)).isEqualTo(3);
+        assertThat(bucket.estimate(1)).isZero();
+    }
+
+    @Test
+    void whenWidthIsNotPowerOfTwo_thenRejected() {
+        assertThatThrownBy(() -> new CountMinSketch(1000, 4)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.webeditor.api.views;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for TrendingTracker.
+ */
+class TrendingTrackerTest {
+
+    @Test
+    void whenContentsViewed_thenTopIsOrderedByViews() {
+        TrendingTracker tracker = new TrendingTracker(3, 10, 1024, 4);
+        view(tracker, 1, 5);
+        view(tracker, 2, 9);
+        view(tracker, 3, 1);
+
+        List<TrendingTracker.Entry> top = tracker.top(2);
+
+        assertThat(top).extracting(TrendingTracker.Entry::getContentId).containsExactly(2L, 1L);
+        assertThat(top).extracting(TrendingTracker.Entry::getViews).containsExactly(9L, 5L);
+    }
+
+    @Test
+    void whenCapacityReached_thenHeavyHittersDisplaceTheLeastViewed() {
+        TrendingTracker tracker = new TrendingTracker(3, 3, 1024, 4);
+        for (long contentId = 100; contentId < 1100; contentId++) {
+            view(tracker, contentId, 1);
+        }
+        view(tracker, 7, 50);
+        view(tracker, 8, 40);
+        view(tracker, 9, 30);
+
+        assertThat(tracker.top(10)).extracting(TrendingTracker.Entry::getContentId).containsExactly(7L, 8L, 9L);
+    }
+
+    @Test
+    void whenWindowSlides_thenOldViewsExpire() {
+        TrendingTracker tracker = new TrendingTracker(2, 10, 1024, 4);
+        view(tracker, 1, 10);
+        tracker.rotate();
+        view(tracker, 2, 3);
+
+        assertThat(tracker.top(10)).extracting(TrendingTracker.Entry::getContentId).containsExactly(1L, 2L);
+
+        tracker.rotate();
+
+        assertThat(tracker.estimate(1)).isZero();
+        assertThat(tracker.top(10)).extracting(TrendingTracker.Entry::getContentId).containsExactly(2L);
+        assertThat(tracker.top(10).get(0).getViews()).isEqualTo(3);
+    }
+
+    @Test
+    void whenContentRemoved_thenNoLongerRanked() {
+        TrendingTracker tracker = new TrendingTracker(2, 10, 1024, 4);
+        view(tracker, 1, 2);
+        view(tracker, 2, 1);
+
+        tracker.remove(1);
+
+        assertThat(tracker.top(10)).extracting(TrendingTracker.Entry::getContentId).containsExactly(2L);
+    }
+
+    private static void view(TrendingTracker tracker, long contentId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.record(contentId);
+        }
+    }
+}